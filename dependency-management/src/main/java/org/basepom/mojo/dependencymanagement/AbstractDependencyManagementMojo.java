@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import org.basepom.mojo.dependencymanagement.ManagementViolation.Kind;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+public abstract class AbstractDependencyManagementMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${session}", required = true, readonly = true)
+    public MavenSession session;
+
+    @Parameter
+    public RequireManagement requireManagement = new RequireManagement();
+
+    @Parameter(defaultValue = "false")
+    public boolean fail;
+
+    @Parameter(defaultValue = "false")
+    public boolean skip;
+
+    @Parameter(property = "dependency-management.report", defaultValue = "NONE")
+    public ReportFormat report;
+
+    @Parameter(defaultValue = "${project.build.directory}/dependency-management")
+    public File outputDirectory;
+
+    @Parameter(defaultValue = "${plugin}", required = true, readonly = true)
+    public PluginDescriptor pluginDescriptor;
+
+    protected Consumer<String> violationLogger() {
+        return fail ? getLog()::error : getLog()::warn;
+    }
+
+    protected void writeReport(String projectId, List<MavenProject> projects, List<ManagementViolation> violations, Map<Kind, Integer> counts) {
+        Map<String, String> pomLocations = new HashMap<>();
+        projects.forEach(project -> pomLocations.put(project.getId(), pomLocation(project)));
+
+        Path reportFile = outputDirectory.toPath().resolve(report.getFileName());
+        try {
+            new ViolationReport(projectId, pluginDescriptor.getVersion(), fail, pomLocations)
+                    .write(reportFile, report, violations, counts, projects.size());
+            getLog().info("Wrote dependency management report to " + reportFile);
+        } catch (IOException e) {
+            getLog().warn("Could not write dependency management report to " + reportFile, e);
+        }
+    }
+
+    /**
+     * Returns the location of the POM of a module relative to the top-level project, with forward slashes.
+     */
+    private String pomLocation(MavenProject project) {
+        if (project.getFile() == null) {
+            return "pom.xml";
+        }
+
+        Path basedir = session.getTopLevelProject().getBasedir().toPath().toAbsolutePath();
+        return basedir.relativize(project.getFile().toPath().toAbsolutePath()).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Runs a task for every module in parallel and returns the results in module order.
+     */
+    protected static <T> List<T> forEachModule(List<MavenProject> projects, Function<MavenProject, T> task) throws MojoExecutionException {
+        List<T> results = new ArrayList<>(projects.size());
+        ExecutorService executorService = newExecutorService(projects.size());
+        try {
+            List<Future<T>> futures = new ArrayList<>(projects.size());
+            for (MavenProject project : projects) {
+                futures.add(executorService.submit(() -> task.apply(project)));
+            }
+
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while analyzing dependency management", e);
+        } catch (ExecutionException e) {
+            throw new MojoExecutionException("Error while analyzing dependency management", e.getCause());
+        } finally {
+            executorService.shutdown();
+        }
+
+        return results;
+    }
+
+    private static ExecutorService newExecutorService(int moduleCount) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), moduleCount)), runnable -> {
+            Thread thread = new Thread(runnable, "dependency-management-" + threadCount.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.basepom.mojo.dependencymanagement.ManagementViolation.Kind;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Keeps the outcome of the last dependency management analysis of a module in the build directory, as JSON keyed by the {@link ModelFingerprint} of
+ * the module. The violations are kept next to the logged messages, so that a replayed analysis can write the same report as the original one.
+ */
+public class AnalysisResultFile {
+
+    private static final String FILE_NAME = "analyze-result.json";
+    private static final Gson GSON = new Gson();
+
+    private final Path path;
+
+    public AnalysisResultFile(File directory) {
+        this.path = directory.toPath().resolve(FILE_NAME);
+    }
+
+    /**
+     * Returns the stored result if a result for the given fingerprint exists.
+     */
+    public Optional<AnalysisResult> load(String fingerprint) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        AnalysisResult result;
+        try (Reader reader = Files.newBufferedReader(path, UTF_8)) {
+            result = GSON.fromJson(reader, AnalysisResult.class);
+        } catch (JsonParseException e) {
+            throw new IOException("Could not parse " + path, e);
+        }
+
+        if (result == null || !fingerprint.equals(result.fingerprint)
+                || result.messages == null || result.violations == null || result.counts == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(result);
+    }
+
+    public void store(AnalysisResult result) throws IOException {
+        Files.createDirectories(path.getParent());
+
+        // an interrupted build must not leave a truncated result behind
+        Path newFile = path.resolveSibling(FILE_NAME + ".new");
+        try (Writer writer = Files.newBufferedWriter(newFile, UTF_8)) {
+            GSON.toJson(result, writer);
+        }
+        Files.move(newFile, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static class AnalysisResult {
+
+        private final String fingerprint;
+        private final boolean success;
+        private final List<String> messages;
+        private final List<ManagementViolation> violations;
+        private final Map<Kind, Integer> counts;
+
+        public AnalysisResult(String fingerprint, boolean success, List<String> messages, List<ManagementViolation> violations,
+                Map<Kind, Integer> counts) {
+            this.fingerprint = fingerprint;
+            this.success = success;
+            this.messages = messages;
+            this.violations = violations;
+            this.counts = counts;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public List<String> getMessages() {
+            return List.copyOf(messages);
+        }
+
+        public List<ManagementViolation> getViolations() {
+            return List.copyOf(violations);
+        }
+
+        public Map<Kind, Integer> getCounts() {
+            return counts.isEmpty() ? new EnumMap<>(Kind.class) : new EnumMap<>(counts);
+        }
+    }
+}
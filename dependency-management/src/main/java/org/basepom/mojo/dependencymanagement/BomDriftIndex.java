@@ -0,0 +1,184 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Inverted index from management keys to the modules that manage or declare them. For every key it records which modules manage it at which
+ * version (including the managed exclusions), which modules declare it with a different version and which modules declare exclusions for it.
+ * Modules that share a management index are added together, so the cost of the managed part only grows with the number of distinct indexes. The
+ * declarations of the modules can be found in parallel with {@link #findDeclarations(String, MavenProject, ManagementIndex)}, but all additions to
+ * the index happen in a single thread, so the modules of a key are listed in the order in which they were added.
+ */
+public class BomDriftIndex {
+
+    private final Map<String, KeyUsage> usages = new HashMap<>();
+
+    /**
+     * Adds the managed dependencies of all modules that share the given management index.
+     */
+    public void addManagement(ManagementIndex index, List<String> modules) {
+        for (Map.Entry<String, Dependency> entry : index.getManagedDependencies().entrySet()) {
+            usage(entry.getKey()).addManaged(managedValue(entry.getValue()), modules);
+        }
+    }
+
+    /**
+     * Finds the declared dependencies of a module that differ from their managed versions or that declare exclusions. This does not change the index
+     * and can run for many modules at the same time.
+     */
+    public static Declarations findDeclarations(String module, MavenProject project, ManagementIndex index) {
+        Map<String, Dependency> originalDependencies = originalDependencies(project);
+        Declarations declarations = new Declarations(module);
+
+        for (Dependency dependency : project.getDependencies()) {
+            String key = dependency.getManagementKey();
+            Dependency managedDependency = index.getManagedDependency(key);
+            if (managedDependency == null) {
+                continue;
+            }
+
+            if (!dependency.getVersion().equals(managedDependency.getVersion())) {
+                declarations.versions.put(key, dependency.getVersion());
+            }
+
+            Dependency originalDependency = originalDependencies.get(key);
+            if (originalDependency != null && !originalDependency.getExclusions().isEmpty()) {
+                declarations.exclusions.add(key);
+            }
+        }
+        return declarations;
+    }
+
+    /**
+     * Adds the declarations of a module that were found by {@link #findDeclarations(String, MavenProject, ManagementIndex)}.
+     */
+    public void addDeclarations(Declarations declarations) {
+        declarations.versions.forEach((key, version) -> usage(key).addDeclaredVersion(version, declarations.module));
+        declarations.exclusions.forEach(key -> usage(key).addDeclaredExclusions(declarations.module));
+    }
+
+    /**
+     * Returns all keys that are managed differently in different modules or that are declared with a different version or with exclusions, sorted
+     * by key.
+     */
+    public SortedMap<String, KeyUsage> getDrift() {
+        SortedMap<String, KeyUsage> drift = new TreeMap<>();
+        usages.forEach((key, usage) -> {
+            if (usage.hasDrift()) {
+                drift.put(key, usage);
+            }
+        });
+        return drift;
+    }
+
+    private KeyUsage usage(String key) {
+        return usages.computeIfAbsent(key, k -> new KeyUsage());
+    }
+
+    private static Map<String, Dependency> originalDependencies(MavenProject project) {
+        if (project.getOriginalModel() == null || project.getOriginalModel().getDependencies() == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Dependency> dependencies = new HashMap<>();
+        for (Dependency dependency : project.getOriginalModel().getDependencies()) {
+            dependencies.put(dependency.getManagementKey(), dependency);
+        }
+        return dependencies;
+    }
+
+    private static String managedValue(Dependency dependency) {
+        if (dependency.getExclusions().isEmpty()) {
+            return dependency.getVersion();
+        }
+
+        return dependency.getVersion() + " excluding " + dependency.getExclusions().stream()
+                .map(exclusion -> exclusion.getGroupId() + ":" + exclusion.getArtifactId()).sorted().collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Declared dependencies of a single module that drift from the management.
+     */
+    public static final class Declarations {
+
+        private final String module;
+        private final Map<String, String> versions = new LinkedHashMap<>();
+        private final List<String> exclusions = new ArrayList<>();
+
+        private Declarations(String module) {
+            this.module = module;
+        }
+    }
+
+    /**
+     * Usage of a single management key across the reactor. Versions are sorted, modules are in the order in which they were added.
+     */
+    public static class KeyUsage {
+
+        private final SortedMap<String, List<String>> managedVersions = new TreeMap<>();
+        private final SortedMap<String, List<String>> declaredVersions = new TreeMap<>();
+        private final List<String> declaredExclusions = new ArrayList<>();
+
+        private void addManaged(String value, List<String> modules) {
+            managedVersions.computeIfAbsent(value, k -> new ArrayList<>()).addAll(modules);
+        }
+
+        private void addDeclaredVersion(String version, String module) {
+            declaredVersions.computeIfAbsent(version, k -> new ArrayList<>()).add(module);
+        }
+
+        private void addDeclaredExclusions(String module) {
+            declaredExclusions.add(module);
+        }
+
+        private boolean hasDrift() {
+            return managedVersions.size() > 1 || !declaredVersions.isEmpty() || !declaredExclusions.isEmpty();
+        }
+
+        /**
+         * Managed versions, with managed exclusions if there are any, and the modules that manage the key at that version.
+         */
+        public SortedMap<String, List<String>> getManagedVersions() {
+            return Collections.unmodifiableSortedMap(managedVersions);
+        }
+
+        /**
+         * Declared versions that differ from the managed version, and the modules that declare them.
+         */
+        public SortedMap<String, List<String>> getDeclaredVersions() {
+            return Collections.unmodifiableSortedMap(declaredVersions);
+        }
+
+        /**
+         * Modules that declare exclusions for the key.
+         */
+        public List<String> getDeclaredExclusions() {
+            return Collections.unmodifiableList(declaredExclusions);
+        }
+    }
+}
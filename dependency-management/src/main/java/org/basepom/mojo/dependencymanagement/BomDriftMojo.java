@@ -0,0 +1,177 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.basepom.mojo.dependencymanagement.BomDriftIndex.Declarations;
+import org.basepom.mojo.dependencymanagement.BomDriftIndex.KeyUsage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import com.google.gson.stream.JsonWriter;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Reports management keys that drift across the reactor: dependencies that are managed at different versions or with different exclusions in
+ * different modules, and dependencies that modules declare at a version other than the managed one or with their own exclusions. The reactor is
+ * indexed once in parallel; modules that share a management index contribute their managed dependencies only once.
+ */
+@Mojo(name = "bom-drift", aggregator = true, threadSafe = true)
+public class BomDriftMojo extends AbstractDependencyManagementMojo {
+
+    private static final String REPORT_FILE_NAME = "bom-drift.json";
+    private static final int MAX_LISTED_MODULES = 5;
+
+    @Parameter(property = "dependency-management.verbose", defaultValue = "false")
+    public boolean verbose;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping plugin execution");
+            return;
+        }
+
+        List<MavenProject> projects = session.getProjects();
+        ManagementIndexCache indexCache = ManagementIndexCache.forSession(session);
+        List<ManagementIndex> indexes = forEachModule(projects, indexCache::getIndex);
+
+        Map<MavenProject, ManagementIndex> indexByModule = new IdentityHashMap<>();
+        // management indexes do not override equals, modules are grouped by instance in the order of their first module
+        Map<ManagementIndex, List<String>> modulesByIndex = new LinkedHashMap<>();
+        for (int i = 0; i < projects.size(); i++) {
+            indexByModule.put(projects.get(i), indexes.get(i));
+            modulesByIndex.computeIfAbsent(indexes.get(i), k -> new ArrayList<>()).add(moduleId(projects.get(i)));
+        }
+
+        BomDriftIndex driftIndex = new BomDriftIndex();
+        modulesByIndex.forEach(driftIndex::addManagement);
+
+        List<Declarations> declarations = forEachModule(projects,
+                project -> BomDriftIndex.findDeclarations(moduleId(project), project, indexByModule.get(project)));
+        declarations.forEach(driftIndex::addDeclarations);
+
+        getLog().debug(String.format("Indexed %d modules with %d distinct management indexes", projects.size(), modulesByIndex.size()));
+
+        SortedMap<String, KeyUsage> drift = driftIndex.getDrift();
+        for (Map.Entry<String, KeyUsage> entry : drift.entrySet()) {
+            logDrift(entry.getKey(), entry.getValue());
+        }
+
+        if (report != ReportFormat.NONE) {
+            writeReport(drift, projects.size());
+        }
+
+        if (drift.isEmpty()) {
+            getLog().info("No dependency management drift found in " + projects.size() + " modules");
+        } else if (fail) {
+            throw new MojoExecutionException("Dependency management drift found for " + drift.size() + " dependencies");
+        } else {
+            getLog().warn("Dependency management drift found for " + drift.size() + " dependencies");
+        }
+    }
+
+    private void logDrift(String key, KeyUsage usage) {
+        violationLogger().accept(key + ":");
+
+        SortedMap<String, List<String>> managedVersions = usage.getManagedVersions();
+        if (managedVersions.size() > 1) {
+            List<String> parts = new ArrayList<>();
+            managedVersions.forEach((version, modules) -> parts.add(version + " in " + modules(modules)));
+            violationLogger().accept("  managed " + String.join("; ", parts));
+        }
+
+        usage.getDeclaredVersions().forEach((version, modules) -> violationLogger().accept("  declared " + version + " in " + modules(modules)));
+
+        if (!usage.getDeclaredExclusions().isEmpty()) {
+            violationLogger().accept("  declares exclusions in " + modules(usage.getDeclaredExclusions()));
+        }
+    }
+
+    private String modules(List<String> modules) {
+        if (verbose || modules.size() <= MAX_LISTED_MODULES) {
+            return String.join(", ", modules);
+        }
+
+        return String.format("%s and %d more", String.join(", ", modules.subList(0, MAX_LISTED_MODULES)), modules.size() - MAX_LISTED_MODULES);
+    }
+
+    private void writeReport(SortedMap<String, KeyUsage> drift, int modules) {
+        Path reportFile = outputDirectory.toPath().resolve(REPORT_FILE_NAME);
+        try {
+            Files.createDirectories(reportFile.getParent());
+            try (Writer writer = Files.newBufferedWriter(reportFile, UTF_8)) {
+                JsonWriter json = new JsonWriter(writer);
+                json.beginObject()
+                        .name("project").value(session.getTopLevelProject().getId())
+                        .name("pluginVersion").value(pluginDescriptor.getVersion())
+                        .name("modules").value(modules);
+
+                json.name("drift").beginArray();
+                for (Map.Entry<String, KeyUsage> entry : drift.entrySet()) {
+                    json.beginObject().name("key").value(entry.getKey());
+                    json.name("managed");
+                    writeVersions(json, entry.getValue().getManagedVersions());
+                    json.name("declared");
+                    writeVersions(json, entry.getValue().getDeclaredVersions());
+                    json.name("exclusions");
+                    writeModules(json, entry.getValue().getDeclaredExclusions());
+                    json.endObject();
+                }
+                json.endArray();
+
+                json.endObject();
+                writer.write('\n');
+            }
+            getLog().info("Wrote dependency management drift report to " + reportFile);
+        } catch (IOException e) {
+            getLog().warn("Could not write dependency management drift report to " + reportFile, e);
+        }
+    }
+
+    private static void writeVersions(JsonWriter json, SortedMap<String, List<String>> versions) throws IOException {
+        json.beginObject();
+        for (Map.Entry<String, List<String>> entry : versions.entrySet()) {
+            json.name(entry.getKey());
+            writeModules(json, entry.getValue());
+        }
+        json.endObject();
+    }
+
+    private static void writeModules(JsonWriter json, List<String> modules) throws IOException {
+        json.beginArray();
+        for (String module : modules) {
+            json.value(module);
+        }
+        json.endArray();
+    }
+
+    private static String moduleId(MavenProject project) {
+        return project.getGroupId() + ":" + project.getArtifactId();
+    }
+}
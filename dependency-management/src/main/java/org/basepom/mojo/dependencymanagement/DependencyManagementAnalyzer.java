@@ -14,57 +14,88 @@
 
 package org.basepom.mojo.dependencymanagement;
 
+import org.basepom.mojo.dependencymanagement.ManagementViolation.Kind;
+
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Extension;
 import org.apache.maven.model.Plugin;
+import org.apache.maven.model.ReportPlugin;
 import org.apache.maven.project.MavenProject;
-import org.codehaus.plexus.util.SelectorUtils;
 
 public class DependencyManagementAnalyzer {
 
+    private static final String SEPARATOR = "------------------------------------------------------------------------";
+
     private final MavenProject project;
     private final RequireManagement requireManagement;
+    private final RequireManagementMatcher requireManagementMatcher;
+    private final ManagementIndex managementIndex;
     private final Consumer<String> violationLogger;
-    private boolean dependencyVersionMismatchError = false;
-    private boolean unmanagedDependencyError = false;
-    private boolean unmanagedPluginError = false;
-    private boolean pluginVersionMismatchError = false;
-    private boolean dependencyExclusionsError = false;
-    private boolean dependencyVersionDisallowedError = false;
-    private final List<String> errorMessages = new ArrayList<>();
+    private final List<ManagementViolation> violations = new ArrayList<>();
+    private final int[] violationCounts = new int[Kind.values().length];
 
     public DependencyManagementAnalyzer(MavenProject project, RequireManagement requireManagement, Consumer<String> violationLogger) {
+        this(project, new RequireManagementMatcher(requireManagement), ManagementIndex.forProject(project), violationLogger);
+    }
+
+    /**
+     * Creates an analyzer with a matcher and a management index that can be shared with the analyzers of other modules. If the violation logger is
+     * null, no messages are formatted and the violations are only available from {@link #getViolations()}.
+     */
+    public DependencyManagementAnalyzer(MavenProject project, RequireManagementMatcher requireManagementMatcher, ManagementIndex managementIndex,
+            Consumer<String> violationLogger) {
         this.project = project;
-        this.requireManagement = requireManagement;
+        this.requireManagement = requireManagementMatcher.getRequireManagement();
+        this.requireManagementMatcher = requireManagementMatcher;
+        this.managementIndex = managementIndex;
         this.violationLogger = violationLogger;
     }
 
     public boolean analyze() {
-        boolean success = checkDependencyManagement();
-        // don't combine with previous line, we don't want short-circuit evaluation
-        success &= checkPluginManagement();
-
-        if (!errorMessages.isEmpty()) {
-            errorMessages.forEach(message -> {
-                logViolation("------------------------------------------------------------------------");
-                logViolation(message);
-            });
+        checkDependencyManagement();
+        checkPluginManagement();
+
+        if (violationLogger != null) {
+            logViolations();
         }
 
-        return success;
+        return violations.isEmpty();
+    }
+
+    /**
+     * Returns all violations in the order in which they were found.
+     */
+    public List<ManagementViolation> getViolations() {
+        return Collections.unmodifiableList(violations);
+    }
+
+    /**
+     * Returns the number of violations for every kind that was found at least once.
+     */
+    public Map<Kind, Integer> getViolationCounts() {
+        Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+        for (Kind kind : Kind.values()) {
+            if (violationCounts[kind.ordinal()] > 0) {
+                counts.put(kind, violationCounts[kind.ordinal()]);
+            }
+        }
+        return counts;
     }
 
-    private boolean checkDependencyManagement() {
-        Map<String, Dependency> managedDependencies = getManagedDependenciesAsMap();
+    private void checkDependencyManagement() {
+        Map<String, Dependency> managedDependencies = managementIndex.getManagedDependencies();
         Map<String, Dependency> originalDependencies = getOriginalDependenciesAsMap();
 
-        boolean success = true;
         for (Dependency projectDependency : project.getDependencies()) {
             String dependencyKey = projectDependency.getManagementKey();
             RequireManagementConfig config = getEffectiveRequireManagementConfig(dependencyKey);
@@ -76,104 +107,94 @@ public class DependencyManagementAnalyzer {
                 String managedVersion = managedDependency.getVersion();
 
                 if (!projectVersion.equals(managedVersion)) {
-                    String errorFormat = "Version mismatch for %s, managed version %s does not match version %s declared in module's pom";
-                    String additionalMessage = "If you intended to use the version specified in dependency management, "
-                            + "please remove the version from this module's dependency declaration.";
-                    logViolation(String.format(errorFormat, dependencyKey, managedVersion, projectVersion));
-                    logViolation(additionalMessage);
-                    dependencyVersionMismatchError = true;
-                    success = false;
+                    addViolation(Kind.DEPENDENCY_VERSION_MISMATCH, dependencyKey, managedVersion, projectVersion);
                 } else if (originalDependency != null) {
                     if (!config.allowVersions() && originalDependency.getVersion() != null) {
-                        logViolation(String.format("Version tag must be removed for managed dependency %s", dependencyKey));
-                        dependencyVersionDisallowedError = true;
-                        success = false;
+                        addViolation(Kind.DEPENDENCY_VERSION_DISALLOWED, dependencyKey, managedVersion, originalDependency.getVersion());
                     }
 
                     if (!config.allowExclusions() && !originalDependency.getExclusions().isEmpty()) {
-                        logViolation(String.format("Exclusions must be removed for managed dependency %s", dependencyKey));
-                        dependencyExclusionsError = true;
-                        success = false;
+                        addViolation(Kind.DEPENDENCY_EXCLUSIONS, dependencyKey, managedVersion, projectVersion);
                     }
                 }
             } else if (config.requireDependencyManagement()) {
-                logViolation(String.format("Dependency %s is not managed", dependencyKey));
-                unmanagedDependencyError = true;
-                success = false;
+                addViolation(Kind.UNMANAGED_DEPENDENCY, dependencyKey, null, projectDependency.getVersion());
             }
         }
-
-        if (dependencyVersionMismatchError && requireManagement.dependencyVersionMismatchMessage() != null) {
-            errorMessages.add("Found versions mismatches in managed dependencies:");
-            errorMessages.add(requireManagement.dependencyVersionMismatchMessage());
-        }
-        if (dependencyVersionDisallowedError && requireManagement.dependencyVersionDisallowedMessage() != null) {
-            errorMessages.add("Found version in managed dependencies:");
-            errorMessages.add(requireManagement.dependencyVersionDisallowedMessage());
-        }
-        if (dependencyExclusionsError && requireManagement.dependencyExclusionsMessage() != null) {
-            errorMessages.add("Found exclusions in managed dependencies:");
-            errorMessages.add(requireManagement.dependencyExclusionsMessage());
-        }
-        if (unmanagedDependencyError && requireManagement.unmanagedDependencyMessage() != null) {
-            errorMessages.add("Found unmanaged dependencies:");
-            errorMessages.add(requireManagement.unmanagedDependencyMessage());
-        }
-        return success;
     }
 
-    private boolean checkPluginManagement() {
-        Map<String, Plugin> managedPlugins = getManagedPluginsAsMap();
-
-        boolean success = true;
+    private void checkPluginManagement() {
         for (Plugin projectPlugin : project.getBuildPlugins()) {
-            Plugin managedPlugin = managedPlugins.get(projectPlugin.getKey());
-            RequireManagementConfig config = getEffectiveRequireManagementConfig(projectPlugin.getKey());
+            String pluginKey = projectPlugin.getKey();
+            Plugin managedPlugin = managementIndex.getManagedPlugin(pluginKey);
 
             if (managedPlugin != null) {
                 String projectVersion = projectPlugin.getVersion();
                 String managedVersion = managedPlugin.getVersion();
 
                 if (!projectVersion.equals(managedVersion)) {
-                    String errorFormat = "Version mismatch for plugin %s, managed version %s does not match version %s declared in module's pom";
-                    String additionalMessage = "If you intended to use the version specified in dependency management, "
-                            + "please remove the version from this module's plugin dependency declaration.";
-                    logViolation(String.format(errorFormat, projectPlugin.getKey(), managedVersion, projectVersion));
-                    logViolation(additionalMessage);
-                    pluginVersionMismatchError = true;
-                    success = false;
+                    addViolation(Kind.PLUGIN_VERSION_MISMATCH, pluginKey, managedVersion, projectVersion);
                 }
-            } else if (config.requirePluginManagement()) {
-                logViolation(String.format("Plugin %s is not managed", projectPlugin.getKey()));
-                unmanagedPluginError = true;
-                success = false;
+
+                checkPluginDependencies(projectPlugin);
+            } else if (getEffectiveRequireManagementConfig(pluginKey).requirePluginManagement()) {
+                addViolation(Kind.UNMANAGED_PLUGIN, pluginKey, null, projectPlugin.getVersion());
             }
         }
-        if (pluginVersionMismatchError && requireManagement.pluginVersionMismatchMessage() != null) {
-            errorMessages.add("Found version mismatches in plugins:");
-            errorMessages.add(requireManagement.pluginVersionMismatchMessage());
+
+        // report plugins take their version from the plugin management if they do not declare one
+        for (ReportPlugin reportPlugin : getReportPlugins()) {
+            String pluginKey = reportPlugin.getKey();
+            Plugin managedPlugin = managementIndex.getManagedPlugin(pluginKey);
+
+            if (managedPlugin != null) {
+                String projectVersion = reportPlugin.getVersion();
+                String managedVersion = managedPlugin.getVersion();
+
+                if (projectVersion != null && !projectVersion.equals(managedVersion)) {
+                    addViolation(Kind.REPORT_PLUGIN_VERSION_MISMATCH, pluginKey, managedVersion, projectVersion);
+                }
+            } else if (getEffectiveRequireManagementConfig(pluginKey).requirePluginManagement()) {
+                addViolation(Kind.UNMANAGED_REPORT_PLUGIN, pluginKey, null, reportPlugin.getVersion());
+            }
         }
-        if (unmanagedPluginError && requireManagement.unmanagedPluginMessage() != null) {
-            errorMessages.add("Found unmanaged plugins:");
-            errorMessages.add(requireManagement.unmanagedPluginMessage());
+
+        // extensions are not managed by maven, only check that they match a managed plugin of the same artifact
+        for (Extension extension : getBuildExtensions()) {
+            String extensionKey = Plugin.constructKey(extension.getGroupId(), extension.getArtifactId());
+            Plugin managedPlugin = managementIndex.getManagedPlugin(extensionKey);
+
+            if (managedPlugin != null && extension.getVersion() != null && !extension.getVersion().equals(managedPlugin.getVersion())) {
+                addViolation(Kind.EXTENSION_VERSION_MISMATCH, extensionKey, managedPlugin.getVersion(), extension.getVersion());
+            }
         }
+    }
 
-        return success;
+    private void checkPluginDependencies(Plugin projectPlugin) {
+        for (Dependency pluginDependency : projectPlugin.getDependencies()) {
+            Dependency managedDependency = managementIndex.getManagedPluginDependency(projectPlugin.getKey(), pluginDependency.getManagementKey());
+
+            if (managedDependency != null && pluginDependency.getVersion() != null
+                    && !pluginDependency.getVersion().equals(managedDependency.getVersion())) {
+                addViolation(Kind.PLUGIN_DEPENDENCY_VERSION_MISMATCH, projectPlugin.getKey() + " > " + pluginDependency.getManagementKey(),
+                        managedDependency.getVersion(), pluginDependency.getVersion());
+            }
+        }
     }
 
-    private Map<String, Plugin> getManagedPluginsAsMap() {
-        if (project.getPluginManagement() == null) {
-            return Collections.emptyMap();
+    private List<ReportPlugin> getReportPlugins() {
+        if (project.getReporting() == null || project.getReporting().getPlugins() == null) {
+            return Collections.emptyList();
         } else {
-            return project.getPluginManagement().getPluginsAsMap();
+            return project.getReporting().getPlugins();
         }
     }
 
-    private Map<String, Dependency> getManagedDependenciesAsMap() {
-        if (project.getDependencyManagement() == null || project.getDependencyManagement().getDependencies() == null) {
-            return Collections.emptyMap();
+    private List<Extension> getBuildExtensions() {
+        if (project.getBuild() == null || project.getBuild().getExtensions() == null) {
+            return Collections.emptyList();
         } else {
-            return asMap(project.getDependencyManagement().getDependencies());
+            return project.getBuild().getExtensions();
         }
     }
 
@@ -186,17 +207,7 @@ public class DependencyManagementAnalyzer {
     }
 
     private RequireManagementConfig getEffectiveRequireManagementConfig(String key) {
-        if (key.indexOf(':') != key.lastIndexOf(':')) {
-            key = key.substring(0, key.indexOf(':', key.indexOf(':') + 1));
-        }
-        for (RequireManagementOverride override : requireManagement.getOverrides()) {
-            for (String pattern : override.getPatterns()) {
-                if (SelectorUtils.match(pattern, key)) {
-                    return override.toRequireManagementConfig(requireManagement);
-                }
-            }
-        }
-        return requireManagement;
+        return requireManagementMatcher.getEffectiveConfig(key);
     }
 
     private static Map<String, Dependency> asMap(List<Dependency> dependencies) {
@@ -208,7 +219,33 @@ public class DependencyManagementAnalyzer {
         return dependencyMap;
     }
 
-    private void logViolation(String message) {
-        violationLogger.accept(message);
+    private void addViolation(Kind kind, String key, String managedVersion, String declaredVersion) {
+        violations.add(new ManagementViolation(kind, key, managedVersion, declaredVersion, project.getId()));
+        violationCounts[kind.ordinal()]++;
+    }
+
+    private void logViolations() {
+        for (ManagementViolation violation : violations) {
+            violation.getMessages().forEach(violationLogger);
+        }
+
+        logSummary(requireManagement, getViolationCounts(), violationLogger);
+    }
+
+    /**
+     * Logs the custom messages that are configured for the kinds of violations that were found.
+     */
+    static void logSummary(RequireManagementConfig config, Map<Kind, Integer> violationCounts, Consumer<String> violationLogger) {
+        // several kinds of plugin violations share a message, it is only logged once
+        Set<String> loggedMessages = new HashSet<>();
+        for (Kind kind : Kind.values()) {
+            String message = kind.getSummaryMessage(config);
+            if (violationCounts.containsKey(kind) && message != null && loggedMessages.add(message)) {
+                violationLogger.accept(SEPARATOR);
+                violationLogger.accept(kind.getSummaryHeader());
+                violationLogger.accept(SEPARATOR);
+                violationLogger.accept(message);
+            }
+        }
     }
 }
@@ -14,7 +14,13 @@
 
 package org.basepom.mojo.dependencymanagement;
 
-import org.apache.maven.plugin.AbstractMojo;
+import org.basepom.mojo.dependencymanagement.AnalysisResultFile.AnalysisResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -22,19 +28,13 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 
 @Mojo(name = "analyze", requiresDependencyCollection = ResolutionScope.TEST, threadSafe = true)
-public class DependencyManagementMojo extends AbstractMojo {
+public class DependencyManagementMojo extends AbstractDependencyManagementMojo {
 
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     public MavenProject project;
 
-    @Parameter
-    public RequireManagement requireManagement = new RequireManagement();
-
-    @Parameter(defaultValue = "false")
-    public boolean fail;
-
-    @Parameter(defaultValue = "false")
-    public boolean skip;
+    @Parameter(property = "dependency-management.incremental", defaultValue = "false")
+    public boolean incremental;
 
     @Override
     public void execute() throws MojoExecutionException {
@@ -43,11 +43,62 @@ public class DependencyManagementMojo extends AbstractMojo {
             return;
         }
 
-        boolean success = new DependencyManagementAnalyzer(project, requireManagement, fail ? getLog()::error : getLog()::warn).analyze();
+        Optional<String> fingerprint = Optional.empty();
+        if (incremental) {
+            fingerprint = Optional.of(ModelFingerprint.compute(project, requireManagement, pluginDescriptor.getVersion() + ":" + report));
+            Optional<AnalysisResult> previousResult = loadResult(fingerprint.get());
+            if (previousResult.isPresent()) {
+                AnalysisResult result = previousResult.get();
+                getLog().info("Project model is unchanged, reporting result of previous analysis");
+                result.getMessages().forEach(violationLogger());
+                if (report != ReportFormat.NONE) {
+                    writeReport(project.getId(), List.of(project), result.getViolations(), result.getCounts());
+                }
+                reportResult(result.isSuccess());
+                return;
+            }
+        }
+
+        // messages are only collected if they need to be stored
+        List<String> messages = new ArrayList<>();
+        ManagementIndexCache indexCache = ManagementIndexCache.forSession(session);
+        DependencyManagementAnalyzer analyzer = new DependencyManagementAnalyzer(project, new RequireManagementMatcher(requireManagement),
+                indexCache.getIndex(project), fingerprint.isPresent() ? violationLogger().andThen(messages::add) : violationLogger());
+        boolean success = analyzer.analyze();
+
+        if (report != ReportFormat.NONE) {
+            writeReport(project.getId(), List.of(project), analyzer.getViolations(), analyzer.getViolationCounts());
+        }
+
+        if (fingerprint.isPresent()) {
+            storeResult(new AnalysisResult(fingerprint.get(), success, messages, analyzer.getViolations(), analyzer.getViolationCounts()));
+        }
+
+        reportResult(success);
+    }
+
+    private void reportResult(boolean success) throws MojoExecutionException {
         if (success) {
             getLog().info("No dependency management issues found");
         } else if (fail) {
             throw new MojoExecutionException("Dependency management issues found");
         }
     }
+
+    private Optional<AnalysisResult> loadResult(String fingerprint) {
+        try {
+            return new AnalysisResultFile(outputDirectory).load(fingerprint);
+        } catch (IOException e) {
+            getLog().warn("Could not read result of previous analysis, running full analysis", e);
+            return Optional.empty();
+        }
+    }
+
+    private void storeResult(AnalysisResult result) {
+        try {
+            new AnalysisResultFile(outputDirectory).store(result);
+        } catch (IOException e) {
+            getLog().warn("Could not store analysis result", e);
+        }
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import org.basepom.mojo.dependencymanagement.ManagementViolation.Kind;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Analyzes all modules of the reactor in a single execution. Modules are analyzed in parallel, share the compiled override patterns and share
+ * the management index with every other module that has the same managed dependencies and plugins. All issues are reported together at the end.
+ */
+@Mojo(name = "analyze-reactor", aggregator = true, threadSafe = true)
+public class DependencyManagementReactorMojo extends AbstractDependencyManagementMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            getLog().info("Skipping plugin execution");
+            return;
+        }
+
+        List<MavenProject> projects = session.getProjects();
+        RequireManagementMatcher requireManagementMatcher = new RequireManagementMatcher(requireManagement);
+        ManagementIndexCache indexCache = ManagementIndexCache.forSession(session);
+
+        List<ModuleResult> results = forEachModule(projects, project -> {
+            // messages are formatted when the results are reported
+            DependencyManagementAnalyzer analyzer = new DependencyManagementAnalyzer(project, requireManagementMatcher, indexCache.getIndex(project),
+                    null);
+            analyzer.analyze();
+            return new ModuleResult(project, analyzer.getViolations(), analyzer.getViolationCounts());
+        });
+
+        getLog().debug(String.format("Analyzed %d modules, %d management indexes built and %d shared in this session", projects.size(),
+                indexCache.getIndexesBuilt(), indexCache.getIndexesShared()));
+
+        int failedModules = 0;
+        List<ManagementViolation> violations = new ArrayList<>();
+        Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+        for (ModuleResult result : results) {
+            if (!result.violations.isEmpty()) {
+                failedModules++;
+                violationLogger().accept("Dependency management issues in module " + result.project.getId() + ":");
+                for (ManagementViolation violation : result.violations) {
+                    violation.getMessages().forEach(violationLogger());
+                }
+                violations.addAll(result.violations);
+                result.counts.forEach((kind, count) -> counts.merge(kind, count, Integer::sum));
+            }
+        }
+        DependencyManagementAnalyzer.logSummary(requireManagement, counts, violationLogger());
+
+        if (report != ReportFormat.NONE) {
+            writeReport(session.getTopLevelProject().getId(), projects, violations, counts);
+        }
+
+        if (failedModules == 0) {
+            getLog().info("No dependency management issues found in " + projects.size() + " modules");
+        } else if (fail) {
+            throw new MojoExecutionException("Dependency management issues found in " + failedModules + " of " + projects.size() + " modules");
+        } else {
+            getLog().warn("Dependency management issues found in " + failedModules + " of " + projects.size() + " modules");
+        }
+    }
+
+    private static final class ModuleResult {
+
+        private final MavenProject project;
+        private final List<ManagementViolation> violations;
+        private final Map<Kind, Integer> counts;
+
+        private ModuleResult(MavenProject project, List<ManagementViolation> violations, Map<Kind, Integer> counts) {
+            this.project = project;
+            this.violations = violations;
+            this.counts = counts;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Immutable index of the managed dependencies and plugins of a project, including the dependencies of the managed plugins. Modules that inherit the
+ * same dependency management and plugin management can share an index. The maps are compact immutable copies, as an index may be kept for the whole
+ * build session.
+ */
+public class ManagementIndex {
+
+    private final List<Dependency> managedDependencyList;
+    private final List<Plugin> managedPluginList;
+    private final Map<String, Dependency> managedDependencies;
+    private final Map<String, Plugin> managedPlugins;
+    private final Map<String, Map<String, Dependency>> managedPluginDependencies;
+
+    private ManagementIndex(List<Dependency> managedDependencyList, List<Plugin> managedPluginList) {
+        this.managedDependencyList = List.copyOf(managedDependencyList);
+        this.managedPluginList = List.copyOf(managedPluginList);
+
+        Map<String, Dependency> dependencies = new HashMap<>(capacity(managedDependencyList.size()));
+        for (Dependency dependency : managedDependencyList) {
+            dependencies.put(dependency.getManagementKey(), dependency);
+        }
+        this.managedDependencies = Map.copyOf(dependencies);
+
+        Map<String, Plugin> plugins = new HashMap<>(capacity(managedPluginList.size()));
+        Map<String, Map<String, Dependency>> pluginDependencies = new HashMap<>();
+        for (Plugin plugin : managedPluginList) {
+            plugins.put(plugin.getKey(), plugin);
+            if (!plugin.getDependencies().isEmpty()) {
+                Map<String, Dependency> dependencyMap = new HashMap<>(capacity(plugin.getDependencies().size()));
+                for (Dependency dependency : plugin.getDependencies()) {
+                    dependencyMap.put(dependency.getManagementKey(), dependency);
+                }
+                pluginDependencies.put(plugin.getKey(), Map.copyOf(dependencyMap));
+            }
+        }
+        this.managedPlugins = Map.copyOf(plugins);
+        this.managedPluginDependencies = Map.copyOf(pluginDependencies);
+    }
+
+    public static ManagementIndex forProject(MavenProject project) {
+        return new ManagementIndex(managedDependencyList(project), managedPluginList(project));
+    }
+
+    static List<Dependency> managedDependencyList(MavenProject project) {
+        if (project.getDependencyManagement() == null || project.getDependencyManagement().getDependencies() == null) {
+            return Collections.emptyList();
+        } else {
+            return project.getDependencyManagement().getDependencies();
+        }
+    }
+
+    static List<Plugin> managedPluginList(MavenProject project) {
+        if (project.getPluginManagement() == null || project.getPluginManagement().getPlugins() == null) {
+            return Collections.emptyList();
+        } else {
+            return project.getPluginManagement().getPlugins();
+        }
+    }
+
+    public Dependency getManagedDependency(String managementKey) {
+        return managedDependencies.get(managementKey);
+    }
+
+    public Plugin getManagedPlugin(String pluginKey) {
+        return managedPlugins.get(pluginKey);
+    }
+
+    /**
+     * Returns the dependency that the plugin management declares for a plugin, or null if the plugin is not managed or does not declare it.
+     */
+    public Dependency getManagedPluginDependency(String pluginKey, String managementKey) {
+        Map<String, Dependency> dependencies = managedPluginDependencies.get(pluginKey);
+        return dependencies == null ? null : dependencies.get(managementKey);
+    }
+
+    public Map<String, Dependency> getManagedDependencies() {
+        return managedDependencies;
+    }
+
+    public Map<String, Plugin> getManagedPlugins() {
+        return managedPlugins;
+    }
+
+    /**
+     * Returns true if this index was built from the same managed dependencies and plugins. Only the values that the analyzers use are compared.
+     */
+    boolean matches(List<Dependency> dependencies, List<Plugin> plugins) {
+        if (dependencies.size() != managedDependencyList.size() || plugins.size() != managedPluginList.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < dependencies.size(); i++) {
+            if (!sameDependency(dependencies.get(i), managedDependencyList.get(i))) {
+                return false;
+            }
+        }
+
+        for (int i = 0; i < plugins.size(); i++) {
+            if (!samePlugin(plugins.get(i), managedPluginList.get(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean sameDependency(Dependency a, Dependency b) {
+        return Objects.equals(a.getGroupId(), b.getGroupId())
+                && Objects.equals(a.getArtifactId(), b.getArtifactId())
+                && Objects.equals(a.getType(), b.getType())
+                && Objects.equals(a.getClassifier(), b.getClassifier())
+                && Objects.equals(a.getVersion(), b.getVersion())
+                && Objects.equals(a.getScope(), b.getScope())
+                && Objects.equals(a.getOptional(), b.getOptional())
+                && sameExclusions(a.getExclusions(), b.getExclusions());
+    }
+
+    private static boolean sameExclusions(List<Exclusion> a, List<Exclusion> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < a.size(); i++) {
+            if (!Objects.equals(a.get(i).getGroupId(), b.get(i).getGroupId()) || !Objects.equals(a.get(i).getArtifactId(), b.get(i).getArtifactId())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean samePlugin(Plugin a, Plugin b) {
+        return Objects.equals(a.getGroupId(), b.getGroupId())
+                && Objects.equals(a.getArtifactId(), b.getArtifactId())
+                && Objects.equals(a.getVersion(), b.getVersion())
+                && sameDependencies(a.getDependencies(), b.getDependencies());
+    }
+
+    private static boolean sameDependencies(List<Dependency> a, List<Dependency> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < a.size(); i++) {
+            if (!sameDependency(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static int capacity(int size) {
+        return (int) (size / 0.75f) + 1;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.SessionData;
+
+/**
+ * Shares management indexes between modules for a whole build session. Indexes are looked up by a hash over the managed dependencies and plugins,
+ * and a module reuses an index if its sections are equal to the ones the index was built from. Hashing and comparing the sections is much cheaper
+ * than building the index again.
+ */
+public class ManagementIndexCache {
+
+    private static final String SESSION_KEY = ManagementIndexCache.class.getName();
+
+    private final ConcurrentMap<Long, List<ManagementIndex>> indexes = new ConcurrentHashMap<>();
+    private final AtomicInteger indexesBuilt = new AtomicInteger();
+    private final AtomicInteger indexesShared = new AtomicInteger();
+
+    /**
+     * Returns the cache of the build session.
+     */
+    public static ManagementIndexCache forSession(MavenSession session) {
+        SessionData data = session.getRepositorySession().getData();
+        while (true) {
+            Object existing = data.get(SESSION_KEY);
+            if (existing instanceof ManagementIndexCache) {
+                return (ManagementIndexCache) existing;
+            } else if (existing != null) {
+                // stored by a different plugin version with its own class loader, can not be shared
+                return new ManagementIndexCache();
+            }
+
+            ManagementIndexCache cache = new ManagementIndexCache();
+            if (data.set(SESSION_KEY, null, cache)) {
+                return cache;
+            }
+        }
+    }
+
+    public ManagementIndex getIndex(MavenProject project) {
+        List<Dependency> dependencies = ManagementIndex.managedDependencyList(project);
+        List<Plugin> plugins = ManagementIndex.managedPluginList(project);
+
+        List<ManagementIndex> candidates = indexes.computeIfAbsent(contentHash(dependencies, plugins), k -> new ArrayList<>());
+        synchronized (candidates) {
+            for (ManagementIndex candidate : candidates) {
+                if (candidate.matches(dependencies, plugins)) {
+                    indexesShared.incrementAndGet();
+                    return candidate;
+                }
+            }
+
+            ManagementIndex index = ManagementIndex.forProject(project);
+            candidates.add(index);
+            indexesBuilt.incrementAndGet();
+            return index;
+        }
+    }
+
+    public int getIndexesBuilt() {
+        return indexesBuilt.get();
+    }
+
+    public int getIndexesShared() {
+        return indexesShared.get();
+    }
+
+    /**
+     * Hashes the same values that {@link ManagementIndex#matches(List, List)} compares.
+     */
+    private static long contentHash(List<Dependency> dependencies, List<Plugin> plugins) {
+        long hash = dependencyHash(1, dependencies);
+        for (Plugin plugin : plugins) {
+            hash = 31 * hash + Objects.hashCode(plugin.getGroupId());
+            hash = 31 * hash + Objects.hashCode(plugin.getArtifactId());
+            hash = 31 * hash + Objects.hashCode(plugin.getVersion());
+            hash = dependencyHash(hash, plugin.getDependencies());
+        }
+
+        return 31 * hash + plugins.size();
+    }
+
+    private static long dependencyHash(long hash, List<Dependency> dependencies) {
+        for (Dependency dependency : dependencies) {
+            hash = 31 * hash + Objects.hashCode(dependency.getGroupId());
+            hash = 31 * hash + Objects.hashCode(dependency.getArtifactId());
+            hash = 31 * hash + Objects.hashCode(dependency.getType());
+            hash = 31 * hash + Objects.hashCode(dependency.getClassifier());
+            hash = 31 * hash + Objects.hashCode(dependency.getVersion());
+            hash = 31 * hash + Objects.hashCode(dependency.getScope());
+            hash = 31 * hash + Objects.hashCode(dependency.getOptional());
+            for (Exclusion exclusion : dependency.getExclusions()) {
+                hash = 31 * hash + Objects.hashCode(exclusion.getGroupId());
+                hash = 31 * hash + Objects.hashCode(exclusion.getArtifactId());
+            }
+            hash = 31 * hash + dependency.getExclusions().size();
+        }
+
+        return 31 * hash + dependencies.size();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A single dependency management or plugin management violation of a module. Log messages are only formatted when they are requested.
+ */
+public class ManagementViolation {
+
+    public enum Kind {
+        DEPENDENCY_VERSION_MISMATCH("dependency-version-mismatch", "The version of a dependency differs from its managed version",
+                "Found versions mismatches in managed dependencies:", RequireManagementConfig::dependencyVersionMismatchMessage),
+        DEPENDENCY_VERSION_DISALLOWED("dependency-version-disallowed", "A managed dependency declares a version",
+                "Found version in managed dependencies:", RequireManagementConfig::dependencyVersionDisallowedMessage),
+        DEPENDENCY_EXCLUSIONS("dependency-exclusions", "A managed dependency declares exclusions",
+                "Found exclusions in managed dependencies:", RequireManagementConfig::dependencyExclusionsMessage),
+        UNMANAGED_DEPENDENCY("unmanaged-dependency", "A dependency is not managed",
+                "Found unmanaged dependencies:", RequireManagementConfig::unmanagedDependencyMessage),
+        PLUGIN_VERSION_MISMATCH("plugin-version-mismatch", "The version of a plugin differs from its managed version",
+                "Found version mismatches in plugins:", RequireManagementConfig::pluginVersionMismatchMessage),
+        UNMANAGED_PLUGIN("unmanaged-plugin", "A plugin is not managed",
+                "Found unmanaged plugins:", RequireManagementConfig::unmanagedPluginMessage),
+        REPORT_PLUGIN_VERSION_MISMATCH("report-plugin-version-mismatch", "The version of a report plugin differs from its managed version",
+                "Found version mismatches in report plugins:", RequireManagementConfig::pluginVersionMismatchMessage),
+        UNMANAGED_REPORT_PLUGIN("unmanaged-report-plugin", "A report plugin is not managed",
+                "Found unmanaged report plugins:", RequireManagementConfig::unmanagedPluginMessage),
+        PLUGIN_DEPENDENCY_VERSION_MISMATCH("plugin-dependency-version-mismatch",
+                "The version of a plugin dependency differs from the version in the plugin management",
+                "Found version mismatches in plugin dependencies:", RequireManagementConfig::pluginVersionMismatchMessage),
+        EXTENSION_VERSION_MISMATCH("extension-version-mismatch", "The version of a build extension differs from its managed plugin version",
+                "Found version mismatches in build extensions:", RequireManagementConfig::pluginVersionMismatchMessage);
+
+        private final String id;
+        private final String description;
+        private final String summaryHeader;
+        private final Function<RequireManagementConfig, String> summaryMessage;
+
+        Kind(String id, String description, String summaryHeader, Function<RequireManagementConfig, String> summaryMessage) {
+            this.id = id;
+            this.description = description;
+            this.summaryHeader = summaryHeader;
+            this.summaryMessage = summaryMessage;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        /**
+         * Returns the header for the custom message that is configured for this kind of violation.
+         */
+        public String getSummaryHeader() {
+            return summaryHeader;
+        }
+
+        /**
+         * Returns the custom message that is configured for this kind of violation, or null if there is none.
+         */
+        public String getSummaryMessage(RequireManagementConfig config) {
+            return summaryMessage.apply(config);
+        }
+    }
+
+    private final Kind kind;
+    private final String key;
+    private final String managedVersion;
+    private final String declaredVersion;
+    private final String module;
+
+    public ManagementViolation(Kind kind, String key, String managedVersion, String declaredVersion, String module) {
+        this.kind = kind;
+        this.key = key;
+        this.managedVersion = managedVersion;
+        this.declaredVersion = declaredVersion;
+        this.module = module;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the management key of the dependency or the key of the plugin, report plugin or extension. For a plugin dependency, this is the plugin
+     * key and the management key of the dependency, separated by " > ".
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public String getManagedVersion() {
+        return managedVersion;
+    }
+
+    public String getDeclaredVersion() {
+        return declaredVersion;
+    }
+
+    public String getModule() {
+        return module;
+    }
+
+    /**
+     * Returns the messages that are logged for this violation.
+     */
+    public List<String> getMessages() {
+        switch (kind) {
+            case DEPENDENCY_VERSION_MISMATCH:
+                return List.of(
+                        String.format("Version mismatch for %s, managed version %s does not match version %s declared in module's pom", key, managedVersion,
+                                declaredVersion),
+                        "If you intended to use the version specified in dependency management, "
+                                + "please remove the version from this module's dependency declaration.");
+            case DEPENDENCY_VERSION_DISALLOWED:
+                return List.of(String.format("Version tag must be removed for managed dependency %s", key));
+            case DEPENDENCY_EXCLUSIONS:
+                return List.of(String.format("Exclusions must be removed for managed dependency %s", key));
+            case UNMANAGED_DEPENDENCY:
+                return List.of(String.format("Dependency %s is not managed", key));
+            case PLUGIN_VERSION_MISMATCH:
+                return List.of(
+                        String.format("Version mismatch for plugin %s, managed version %s does not match version %s declared in module's pom", key,
+                                managedVersion, declaredVersion),
+                        "If you intended to use the version specified in dependency management, "
+                                + "please remove the version from this module's plugin dependency declaration.");
+            case UNMANAGED_PLUGIN:
+                return List.of(String.format("Plugin %s is not managed", key));
+            case REPORT_PLUGIN_VERSION_MISMATCH:
+                return List.of(
+                        String.format("Version mismatch for report plugin %s, managed version %s does not match version %s declared in module's pom",
+                                key, managedVersion, declaredVersion),
+                        "If you intended to use the version specified in plugin management, "
+                                + "please remove the version from this module's report plugin declaration.");
+            case UNMANAGED_REPORT_PLUGIN:
+                return List.of(String.format("Report plugin %s is not managed", key));
+            case PLUGIN_DEPENDENCY_VERSION_MISMATCH:
+                return List.of(
+                        String.format("Version mismatch for plugin dependency %s, managed version %s does not match version %s declared in module's pom",
+                                key, managedVersion, declaredVersion),
+                        "If you intended to use the version specified in plugin management, "
+                                + "please remove the dependency from this module's plugin declaration.");
+            case EXTENSION_VERSION_MISMATCH:
+                return List.of(
+                        String.format("Version mismatch for extension %s, managed version %s does not match version %s declared in module's pom", key,
+                                managedVersion, declaredVersion));
+            default:
+                throw new IllegalStateException("Unknown violation kind " + kind);
+        }
+    }
+}
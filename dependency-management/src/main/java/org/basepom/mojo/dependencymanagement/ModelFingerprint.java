@@ -0,0 +1,156 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import java.util.List;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Computes a fingerprint over everything that the dependency management analysis of a project depends on: the dependencies, plugins (with their
+ * dependencies), report plugins and extensions of the effective model, the dependencies of the original model, the effective dependency management
+ * and plugin management, and the analysis configuration.
+ */
+public final class ModelFingerprint {
+
+    private final Hasher hasher = Hashing.sha256().newHasher();
+
+    private ModelFingerprint() {
+    }
+
+    /**
+     * Computes the fingerprint for a project. The configuration string must contain the plugin version and any setting that changes the result, so
+     * a result is never replayed by a different version or configuration.
+     */
+    public static String compute(MavenProject project, RequireManagement requireManagement, String configuration) {
+        ModelFingerprint fingerprint = new ModelFingerprint();
+        fingerprint.putString(configuration);
+        fingerprint.putRequireManagement(requireManagement);
+
+        fingerprint.putDependencies(project.getDependencies());
+        fingerprint.putPlugins(project.getBuildPlugins());
+        fingerprint.putReportPlugins(project.getReporting() == null ? null : project.getReporting().getPlugins());
+        fingerprint.putExtensions(project.getBuild() == null ? null : project.getBuild().getExtensions());
+
+        if (project.getOriginalModel() == null) {
+            fingerprint.hasher.putInt(-1);
+        } else {
+            fingerprint.putDependencies(project.getOriginalModel().getDependencies());
+        }
+
+        fingerprint.putDependencies(ManagementIndex.managedDependencyList(project));
+        fingerprint.putPlugins(ManagementIndex.managedPluginList(project));
+
+        return fingerprint.hasher.hash().toString();
+    }
+
+    private void putRequireManagement(RequireManagement requireManagement) {
+        putConfig(requireManagement);
+        putString(requireManagement.unmanagedDependencyMessage());
+        putString(requireManagement.dependencyVersionMismatchMessage());
+        putString(requireManagement.unmanagedPluginMessage());
+        putString(requireManagement.pluginVersionMismatchMessage());
+        putString(requireManagement.dependencyExclusionsMessage());
+        putString(requireManagement.dependencyVersionDisallowedMessage());
+
+        hasher.putInt(requireManagement.getOverrides().size());
+        for (RequireManagementOverride override : requireManagement.getOverrides()) {
+            hasher.putInt(override.getPatterns().size());
+            override.getPatterns().forEach(this::putString);
+            putConfig(override.toRequireManagementConfig(requireManagement));
+        }
+    }
+
+    private void putConfig(RequireManagementConfig config) {
+        hasher.putBoolean(config.requireDependencyManagement());
+        hasher.putBoolean(config.requirePluginManagement());
+        hasher.putBoolean(config.allowVersions());
+        hasher.putBoolean(config.allowExclusions());
+    }
+
+    private void putDependencies(List<Dependency> dependencies) {
+        if (dependencies == null) {
+            hasher.putInt(-1);
+            return;
+        }
+
+        hasher.putInt(dependencies.size());
+        for (Dependency dependency : dependencies) {
+            putString(dependency.getManagementKey());
+            putString(dependency.getVersion());
+            putExclusions(dependency.getExclusions());
+        }
+    }
+
+    private void putExclusions(List<Exclusion> exclusions) {
+        hasher.putInt(exclusions.size());
+        for (Exclusion exclusion : exclusions) {
+            putString(exclusion.getGroupId());
+            putString(exclusion.getArtifactId());
+        }
+    }
+
+    private void putPlugins(List<Plugin> plugins) {
+        hasher.putInt(plugins.size());
+        for (Plugin plugin : plugins) {
+            putString(plugin.getKey());
+            putString(plugin.getVersion());
+            putDependencies(plugin.getDependencies());
+        }
+    }
+
+    private void putReportPlugins(List<ReportPlugin> reportPlugins) {
+        if (reportPlugins == null) {
+            hasher.putInt(-1);
+            return;
+        }
+
+        hasher.putInt(reportPlugins.size());
+        for (ReportPlugin reportPlugin : reportPlugins) {
+            putString(reportPlugin.getKey());
+            putString(reportPlugin.getVersion());
+        }
+    }
+
+    private void putExtensions(List<Extension> extensions) {
+        if (extensions == null) {
+            hasher.putInt(-1);
+            return;
+        }
+
+        hasher.putInt(extensions.size());
+        for (Extension extension : extensions) {
+            putString(extension.getGroupId());
+            putString(extension.getArtifactId());
+            putString(extension.getVersion());
+        }
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length());
+            hasher.putUnencodedChars(value);
+        }
+    }
+}
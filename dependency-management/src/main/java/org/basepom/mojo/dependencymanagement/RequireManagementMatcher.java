@@ -0,0 +1,176 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.codehaus.plexus.util.SelectorUtils;
+
+/**
+ * Finds the effective {@link RequireManagementConfig} for a dependency or plugin key. The override patterns are compiled once into exact keys, a
+ * prefix trie for patterns that only end in wildcards, and the remaining glob patterns. As before, the first matching pattern of the first matching
+ * override wins. Results are memoized per key.
+ */
+public class RequireManagementMatcher {
+
+    private final RequireManagement requireManagement;
+    private final List<RequireManagementConfig> overrideConfigs = new ArrayList<>();
+
+    // every pattern is identified by its position in the configuration, the lowest position wins
+    private final List<Integer> patternOverrides = new ArrayList<>();
+    private final Map<String, Integer> exactPatterns = new HashMap<>();
+    private final PrefixNode prefixPatterns = new PrefixNode();
+    private final List<GlobPattern> globPatterns = new ArrayList<>();
+
+    private final Map<String, RequireManagementConfig> configs = new ConcurrentHashMap<>();
+
+    public RequireManagementMatcher(RequireManagement requireManagement) {
+        this.requireManagement = requireManagement;
+
+        for (RequireManagementOverride override : requireManagement.getOverrides()) {
+            int overrideIndex = overrideConfigs.size();
+            overrideConfigs.add(override.toRequireManagementConfig(requireManagement));
+
+            for (String pattern : override.getPatterns()) {
+                int position = patternOverrides.size();
+                patternOverrides.add(overrideIndex);
+                addPattern(pattern, position);
+            }
+        }
+    }
+
+    public RequireManagement getRequireManagement() {
+        return requireManagement;
+    }
+
+    /**
+     * Returns the effective configuration for a management key (groupId:artifactId[:type[:classifier]]) or a plugin key (groupId:artifactId).
+     */
+    public RequireManagementConfig getEffectiveConfig(String key) {
+        if (overrideConfigs.isEmpty()) {
+            return requireManagement;
+        }
+
+        return configs.computeIfAbsent(groupAndArtifact(key), this::match);
+    }
+
+    private RequireManagementConfig match(String key) {
+        int best = Integer.MAX_VALUE;
+
+        Integer exact = exactPatterns.get(key);
+        if (exact != null) {
+            best = exact;
+        }
+
+        best = Math.min(best, prefixPatterns.find(key, best));
+
+        // glob patterns are in configuration order, so only patterns before the current best match can win
+        for (GlobPattern globPattern : globPatterns) {
+            if (globPattern.position >= best) {
+                break;
+            }
+            if (SelectorUtils.match(globPattern.pattern, key)) {
+                best = globPattern.position;
+                break;
+            }
+        }
+
+        return best == Integer.MAX_VALUE ? requireManagement : overrideConfigs.get(patternOverrides.get(best));
+    }
+
+    private void addPattern(String pattern, int position) {
+        int firstWildcard = firstWildcard(pattern);
+        if (firstWildcard < 0) {
+            exactPatterns.putIfAbsent(pattern, position);
+        } else if (isTrailingWildcards(pattern, firstWildcard)) {
+            prefixPatterns.add(pattern, firstWildcard, position);
+        } else {
+            globPatterns.add(new GlobPattern(pattern, position));
+        }
+    }
+
+    private static int firstWildcard(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '*' || c == '?') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isTrailingWildcards(String pattern, int start) {
+        for (int i = start; i < pattern.length(); i++) {
+            if (pattern.charAt(i) != '*') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String groupAndArtifact(String key) {
+        int firstColon = key.indexOf(':');
+        if (firstColon < 0) {
+            return key;
+        }
+        int secondColon = key.indexOf(':', firstColon + 1);
+        return secondColon < 0 ? key : key.substring(0, secondColon);
+    }
+
+    private static final class PrefixNode {
+
+        private final Map<Character, PrefixNode> children = new HashMap<>();
+        private int position = Integer.MAX_VALUE;
+
+        private void add(String pattern, int length, int position) {
+            PrefixNode node = this;
+            for (int i = 0; i < length; i++) {
+                node = node.children.computeIfAbsent(pattern.charAt(i), c -> new PrefixNode());
+            }
+            node.position = Math.min(node.position, position);
+        }
+
+        /**
+         * Returns the lowest position of all prefixes of the key, or the given limit if there is none lower.
+         */
+        private int find(String key, int limit) {
+            int best = Math.min(limit, position);
+            PrefixNode node = this;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.get(key.charAt(i));
+                if (node == null) {
+                    break;
+                }
+                best = Math.min(best, node.position);
+            }
+            return best;
+        }
+    }
+
+    private static final class GlobPattern {
+
+        private final String pattern;
+        private final int position;
+
+        private GlobPattern(String pattern, int position) {
+            this.pattern = pattern;
+            this.position = position;
+        }
+    }
+}
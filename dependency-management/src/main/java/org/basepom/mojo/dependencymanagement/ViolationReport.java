@@ -0,0 +1,157 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.basepom.mojo.dependencymanagement.ManagementViolation.Kind;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes the violations of a dependency management analysis as JSON or SARIF. A report can contain the violations of one module or of a whole
+ * reactor.
+ */
+public class ViolationReport {
+
+    private static final String TOOL_NAME = "dependency-management-maven-plugin";
+    private static final String TOOL_URI = "https://github.com/basepom/maven-plugins";
+    private static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+
+    private final String projectId;
+    private final String pluginVersion;
+    private final boolean fail;
+    private final Map<String, String> pomLocations;
+
+    /**
+     * Creates a report. The POM locations map the id of every module to the location of its POM relative to the top-level project, which is
+     * used as the location of the SARIF results.
+     */
+    public ViolationReport(String projectId, String pluginVersion, boolean fail, Map<String, String> pomLocations) {
+        this.projectId = projectId;
+        this.pluginVersion = pluginVersion;
+        this.fail = fail;
+        this.pomLocations = pomLocations;
+    }
+
+    public void write(Path file, ReportFormat format, List<ManagementViolation> violations, Map<Kind, Integer> counts, int modules) throws IOException {
+        Files.createDirectories(file.getParent());
+
+        try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+            JsonWriter json = new JsonWriter(writer);
+            if (format == ReportFormat.SARIF) {
+                writeSarif(json, violations, counts, modules);
+            } else {
+                writeJson(json, violations, counts, modules);
+            }
+            writer.write('\n');
+        }
+    }
+
+    private void writeJson(JsonWriter json, List<ManagementViolation> violations, Map<Kind, Integer> counts, int modules) throws IOException {
+        json.beginObject()
+                .name("project").value(projectId)
+                .name("pluginVersion").value(pluginVersion)
+                .name("modules").value(modules);
+
+        json.name("violations").beginArray();
+        for (ManagementViolation violation : violations) {
+            json.beginObject();
+            writeViolation(json, violation);
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("counts");
+        writeCounts(json, counts);
+
+        json.endObject();
+    }
+
+    private void writeSarif(JsonWriter json, List<ManagementViolation> violations, Map<Kind, Integer> counts, int modules) throws IOException {
+        json.beginObject()
+                .name("$schema").value(SARIF_SCHEMA)
+                .name("version").value("2.1.0");
+
+        json.name("runs").beginArray().beginObject();
+
+        json.name("tool").beginObject().name("driver").beginObject()
+                .name("name").value(TOOL_NAME)
+                .name("version").value(pluginVersion)
+                .name("informationUri").value(TOOL_URI);
+        json.name("rules").beginArray();
+        for (Kind kind : Kind.values()) {
+            json.beginObject()
+                    .name("id").value(kind.getId())
+                    .name("shortDescription").beginObject().name("text").value(kind.getDescription()).endObject()
+                    .endObject();
+        }
+        json.endArray();
+        json.endObject().endObject();
+
+        json.name("results").beginArray();
+        for (ManagementViolation violation : violations) {
+            json.beginObject()
+                    .name("ruleId").value(violation.getKind().getId())
+                    .name("level").value(fail ? "error" : "warning");
+            json.name("message").beginObject()
+                    .name("text").value(violation.getMessages().get(0))
+                    .endObject();
+            json.name("locations").beginArray().beginObject()
+                    .name("physicalLocation").beginObject()
+                    .name("artifactLocation").beginObject().name("uri").value(pomLocations.getOrDefault(violation.getModule(), "pom.xml")).endObject()
+                    .endObject()
+                    .endObject().endArray();
+            json.name("properties").beginObject();
+            writeViolation(json, violation);
+            json.endObject();
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("properties").beginObject()
+                .name("project").value(projectId)
+                .name("modules").value(modules)
+                .name("counts");
+        writeCounts(json, counts);
+        json.endObject();
+
+        json.endObject().endArray();
+        json.endObject();
+    }
+
+    private static void writeViolation(JsonWriter json, ManagementViolation violation) throws IOException {
+        json.name("kind").value(violation.getKind().getId())
+                .name("module").value(violation.getModule())
+                .name("key").value(violation.getKey())
+                .name("managedVersion").value(violation.getManagedVersion())
+                .name("declaredVersion").value(violation.getDeclaredVersion());
+    }
+
+    private static void writeCounts(JsonWriter json, Map<Kind, Integer> counts) throws IOException {
+        json.beginObject();
+        for (Kind kind : Kind.values()) {
+            json.name(kind.getId()).value(counts.getOrDefault(kind, 0));
+        }
+        json.endObject();
+    }
+}
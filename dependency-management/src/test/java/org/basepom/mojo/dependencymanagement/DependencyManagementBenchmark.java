@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Time to analyze one module generated by {@link SyntheticModel}, for growing management sections, dependency lists and override pattern lists.
+ * The time per analysis should grow linearly with each of them. Options on the command line of {@link #main(String...)} are passed to JMH, e.g.
+ * <code>-prof gc</code> for allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class DependencyManagementBenchmark {
+
+    @Param({"500", "1000", "2500", "5000"})
+    public int managedDependencies;
+
+    @Param({"50", "500"})
+    public int dependencies;
+
+    @Param({"0", "100", "500"})
+    public int overridePatterns;
+
+    private SyntheticModel model;
+    private ManagementIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        model = SyntheticModel.generate(managedDependencies, dependencies, overridePatterns);
+        index = ManagementIndex.forProject(model.project());
+    }
+
+    /**
+     * A module analyzed on its own: compiles the override patterns and builds the management index for every analysis.
+     */
+    @Benchmark
+    public List<ManagementViolation> analyze() {
+        RequireManagementMatcher matcher = new RequireManagementMatcher(model.requireManagement());
+        ManagementIndex moduleIndex = ManagementIndex.forProject(model.project());
+        DependencyManagementAnalyzer analyzer = new DependencyManagementAnalyzer(model.project(), matcher, moduleIndex, null);
+        analyzer.analyze();
+        return analyzer.getViolations();
+    }
+
+    /**
+     * A module of a reactor that shares its management index with the other modules. The matcher memoizes its result for every key, so each
+     * analysis gets a new matcher and every key of the module is matched against the override patterns.
+     */
+    @Benchmark
+    public List<ManagementViolation> analyzeShared() {
+        RequireManagementMatcher matcher = new RequireManagementMatcher(model.requireManagement());
+        DependencyManagementAnalyzer analyzer = new DependencyManagementAnalyzer(model.project(), matcher, index, null);
+        analyzer.analyze();
+        return analyzer.getViolations();
+    }
+
+    public static void main(String... args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).include(DependencyManagementBenchmark.class.getName()).build()).run();
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Extension;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.model.ReportPlugin;
+import org.apache.maven.model.Reporting;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Generated module model with a large dependency management section and override patterns. Every tenth dependency declares a version that differs
+ * from its managed version, every seventh declares exclusions and every thirteenth is not managed, so version mismatches, exclusions and unmanaged
+ * dependencies are all reported. Every tenth plugin declares a different version for itself, its plugin dependency, its build extension and its
+ * report plugin; every other report plugin declares no version, and every tenth plugin has an additional unmanaged report plugin. The override
+ * patterns are an even mix of exact keys, prefixes and glob patterns, and most of them match none of the dependencies.
+ */
+public final class SyntheticModel {
+
+    private static final String GROUP_PREFIX = "synthetic.group";
+    private static final String VERSION = "1.0";
+    private static final String DECLARED_VERSION = "2.0";
+    private static final int GROUPS = 50;
+    private static final int MISMATCH_INTERVAL = 10;
+    private static final int EXCLUSION_INTERVAL = 7;
+    private static final int UNMANAGED_INTERVAL = 13;
+    private static final int PLUGIN_INTERVAL = 20;
+
+    private final MavenProject project;
+    private final RequireManagement requireManagement;
+
+    private SyntheticModel(MavenProject project, RequireManagement requireManagement) {
+        this.project = project;
+        this.requireManagement = requireManagement;
+    }
+
+    /**
+     * Generates a module with the given number of managed dependencies, declared dependencies and override patterns. Declared dependencies are
+     * spread evenly over the managed dependencies; there are a twentieth as many managed and declared plugins.
+     */
+    public static SyntheticModel generate(int managedDependencies, int dependencies, int overridePatterns) {
+        Model model = new Model();
+        model.setModelVersion("4.0.0");
+        model.setGroupId("synthetic");
+        model.setArtifactId("module");
+        model.setVersion(VERSION);
+
+        DependencyManagement dependencyManagement = new DependencyManagement();
+        for (int i = 0; i < managedDependencies; i++) {
+            dependencyManagement.addDependency(dependency(i, VERSION));
+        }
+        model.setDependencyManagement(dependencyManagement);
+
+        Model originalModel = new Model();
+        int step = Math.max(1, managedDependencies / Math.max(1, dependencies));
+        for (int i = 0; i < dependencies; i++) {
+            int index = i % UNMANAGED_INTERVAL == 0 ? managedDependencies + i : i * step % Math.max(1, managedDependencies);
+            String version = i % MISMATCH_INTERVAL == 0 ? DECLARED_VERSION : VERSION;
+            model.addDependency(dependency(index, version));
+
+            Dependency originalDependency = dependency(index, i % MISMATCH_INTERVAL == 0 ? DECLARED_VERSION : null);
+            if (i % EXCLUSION_INTERVAL == 0) {
+                Exclusion exclusion = new Exclusion();
+                exclusion.setGroupId("excluded");
+                exclusion.setArtifactId("artifact-" + i);
+                originalDependency.addExclusion(exclusion);
+            }
+            originalModel.addDependency(originalDependency);
+        }
+
+        Build build = new Build();
+        PluginManagement pluginManagement = new PluginManagement();
+        for (int i = 0; i < Math.max(1, managedDependencies / PLUGIN_INTERVAL); i++) {
+            Plugin plugin = plugin(i, VERSION);
+            plugin.addDependency(pluginDependency(i, VERSION));
+            pluginManagement.addPlugin(plugin);
+        }
+        build.setPluginManagement(pluginManagement);
+
+        Reporting reporting = new Reporting();
+        for (int i = 0; i < Math.max(1, dependencies / PLUGIN_INTERVAL); i++) {
+            String version = i % MISMATCH_INTERVAL == 0 ? DECLARED_VERSION : VERSION;
+            Plugin plugin = plugin(i, version);
+            plugin.addDependency(pluginDependency(i, version));
+            build.addPlugin(plugin);
+            build.addExtension(extension(i, version));
+
+            reporting.addPlugin(reportPlugin(i, "plugin-" + i, i % 2 == 0 ? version : null));
+            if (i % MISMATCH_INTERVAL == 0) {
+                reporting.addPlugin(reportPlugin(i, "report-plugin-" + i, null));
+            }
+        }
+        model.setBuild(build);
+        model.setReporting(reporting);
+
+        MavenProject project = new MavenProject(model);
+        project.setOriginalModel(originalModel);
+
+        return new SyntheticModel(project, requireManagement(overridePatterns));
+    }
+
+    public MavenProject project() {
+        return project;
+    }
+
+    public RequireManagement requireManagement() {
+        return requireManagement;
+    }
+
+    private static RequireManagement requireManagement(int overridePatterns) {
+        RequireManagement requireManagement = new RequireManagement();
+        requireManagement.setDependencies(true);
+        requireManagement.setPlugins(true);
+        requireManagement.setAllowVersions(false);
+        requireManagement.setAllowExclusions(false);
+
+        // ten patterns per override, like a configuration that groups its exceptions by team or area
+        List<RequireManagementOverride> overrides = new ArrayList<>();
+        for (int i = 0; i < overridePatterns; i += 10) {
+            List<String> patterns = new ArrayList<>();
+            for (int j = i; j < Math.min(i + 10, overridePatterns); j++) {
+                patterns.add(pattern(j));
+            }
+
+            RequireManagementOverride override = new RequireManagementOverride();
+            override.setPatterns(patterns);
+            override.setAllowVersions(true);
+            override.setAllowExclusions(true);
+            overrides.add(override);
+        }
+        requireManagement.setOverrides(overrides);
+
+        return requireManagement;
+    }
+
+    private static String pattern(int index) {
+        switch (index % 3) {
+            case 0:
+                return "other.group" + index + ":artifact-" + index;
+            case 1:
+                return "other.group" + index + ".*";
+            default:
+                return "*:other-artifact-" + index + "*";
+        }
+    }
+
+    private static Dependency dependency(int index, String version) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(GROUP_PREFIX + index % GROUPS);
+        dependency.setArtifactId("artifact-" + index);
+        dependency.setVersion(version);
+        return dependency;
+    }
+
+    private static Dependency pluginDependency(int index, String version) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(GROUP_PREFIX + index % GROUPS);
+        dependency.setArtifactId("plugin-dependency-" + index);
+        dependency.setVersion(version);
+        return dependency;
+    }
+
+    private static ReportPlugin reportPlugin(int index, String artifactId, String version) {
+        ReportPlugin reportPlugin = new ReportPlugin();
+        reportPlugin.setGroupId(GROUP_PREFIX + index % GROUPS);
+        reportPlugin.setArtifactId(artifactId);
+        reportPlugin.setVersion(version);
+        return reportPlugin;
+    }
+
+    private static Extension extension(int index, String version) {
+        Extension extension = new Extension();
+        extension.setGroupId(GROUP_PREFIX + index % GROUPS);
+        extension.setArtifactId("plugin-" + index);
+        extension.setVersion(version);
+        return extension;
+    }
+
+    private static Plugin plugin(int index, String version) {
+        Plugin plugin = new Plugin();
+        plugin.setGroupId(GROUP_PREFIX + index % GROUPS);
+        plugin.setArtifactId("plugin-" + index);
+        plugin.setVersion(version);
+        return plugin;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.basepom.mojo.dependencymanagement.AnalysisResultFile.AnalysisResult;
+import org.basepom.mojo.dependencymanagement.ManagementViolation.Kind;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestAnalysisResultFile {
+
+    @TempDir
+    public File directory;
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        SyntheticModel model = SyntheticModel.generate(100, 50, 0);
+        List<String> messages = new ArrayList<>();
+        DependencyManagementAnalyzer analyzer = new DependencyManagementAnalyzer(model.project(), model.requireManagement(), messages::add);
+        boolean success = analyzer.analyze();
+        String fingerprint = ModelFingerprint.compute(model.project(), model.requireManagement(), "1.0");
+
+        AnalysisResultFile file = new AnalysisResultFile(directory);
+        file.store(new AnalysisResult(fingerprint, success, messages, analyzer.getViolations(), analyzer.getViolationCounts()));
+
+        Optional<AnalysisResult> loaded = new AnalysisResultFile(directory).load(fingerprint);
+        assertTrue(loaded.isPresent());
+        AnalysisResult result = loaded.get();
+
+        assertFalse(messages.isEmpty());
+        assertEquals(success, result.isSuccess());
+        assertEquals(messages, result.getMessages());
+        assertEquals(describe(analyzer.getViolations()), describe(result.getViolations()));
+
+        Map<Kind, Integer> counts = result.getCounts();
+        assertEquals(analyzer.getViolationCounts(), counts);
+        // the keys must be read back as kinds, not as strings
+        counts.keySet().forEach(kind -> assertEquals(Kind.class, kind.getClass()));
+    }
+
+    @Test
+    public void testEmptyCounts() throws Exception {
+        AnalysisResultFile file = new AnalysisResultFile(directory);
+        file.store(new AnalysisResult("fingerprint", true, List.of(), List.of(), Map.of()));
+
+        AnalysisResult result = file.load("fingerprint").orElseThrow();
+        assertTrue(result.isSuccess());
+        assertEquals(List.of(), result.getViolations());
+        assertEquals(Map.of(), result.getCounts());
+    }
+
+    @Test
+    public void testFingerprintMismatch() throws Exception {
+        AnalysisResultFile file = new AnalysisResultFile(directory);
+        assertEquals(Optional.empty(), file.load("fingerprint"));
+
+        file.store(new AnalysisResult("fingerprint", true, List.of("message"), List.of(), Map.of()));
+        assertEquals(Optional.empty(), file.load("other"));
+        assertTrue(file.load("fingerprint").isPresent());
+    }
+
+    private static List<String> describe(List<ManagementViolation> violations) {
+        return violations.stream()
+                .map(violation -> String.join(" ", violation.getKind().name(), violation.getKey(), violation.getManagedVersion(),
+                        violation.getDeclaredVersion(), violation.getModule(), violation.getMessages().toString()))
+                .collect(Collectors.toList());
+    }
+}
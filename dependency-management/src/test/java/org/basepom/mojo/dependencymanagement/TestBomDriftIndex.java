@@ -0,0 +1,192 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.basepom.mojo.dependencymanagement.BomDriftIndex.KeyUsage;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+
+public class TestBomDriftIndex {
+
+    private static final String KEY = "g:a:jar";
+
+    @Test
+    public void testNoDrift() {
+        MavenProject first = project("first", management("1.0"));
+        MavenProject second = project("second", management("1.0"));
+
+        BomDriftIndex index = index(List.of(first, second), List.of(ManagementIndex.forProject(first), ManagementIndex.forProject(second)));
+        assertEquals(Map.of(), index.getDrift());
+    }
+
+    @Test
+    public void testManagedVersions() {
+        MavenProject first = project("first", management("1.0"));
+        MavenProject second = project("second", management("2.0"));
+
+        SortedMap<String, KeyUsage> drift = index(List.of(first, second),
+                List.of(ManagementIndex.forProject(first), ManagementIndex.forProject(second))).getDrift();
+
+        // the key that is managed at the same version everywhere does not drift
+        assertEquals(List.of(KEY), List.copyOf(drift.keySet()));
+        KeyUsage usage = drift.get(KEY);
+        assertEquals(Map.of("1.0", List.of("first"), "2.0", List.of("second")), usage.getManagedVersions());
+        assertEquals(Map.of(), usage.getDeclaredVersions());
+        assertEquals(List.of(), usage.getDeclaredExclusions());
+    }
+
+    @Test
+    public void testManagedExclusions() {
+        DependencyManagement excluding = management("1.0");
+        excluding.getDependencies().get(0).addExclusion(exclusion("x", "y"));
+        MavenProject first = project("first", management("1.0"));
+        MavenProject second = project("second", excluding);
+
+        KeyUsage usage = index(List.of(first, second), List.of(ManagementIndex.forProject(first), ManagementIndex.forProject(second)))
+                .getDrift().get(KEY);
+        assertEquals(Map.of("1.0", List.of("first"), "1.0 excluding x:y", List.of("second")), usage.getManagedVersions());
+    }
+
+    @Test
+    public void testDeclaredVersion() {
+        MavenProject first = project("first", management("1.0"));
+        MavenProject second = project("second", management("1.0"));
+        MavenProject third = project("third", management("1.0"));
+        // a declaration at the managed version is not drift
+        declare(first, "1.0", false);
+        declare(second, "3.0", false);
+
+        ManagementIndex management = ManagementIndex.forProject(first);
+        SortedMap<String, KeyUsage> drift = index(List.of(first, second, third), List.of(management, management, management)).getDrift();
+
+        assertEquals(List.of(KEY), List.copyOf(drift.keySet()));
+        KeyUsage usage = drift.get(KEY);
+        assertEquals(Map.of("1.0", List.of("first", "second", "third")), usage.getManagedVersions());
+        assertEquals(Map.of("3.0", List.of("second")), usage.getDeclaredVersions());
+        assertEquals(List.of(), usage.getDeclaredExclusions());
+    }
+
+    @Test
+    public void testDeclaredExclusions() {
+        MavenProject first = project("first", management("1.0"));
+        MavenProject second = project("second", management("1.0"));
+        declare(first, "1.0", true);
+        declare(second, "1.0", false);
+
+        ManagementIndex management = ManagementIndex.forProject(first);
+        KeyUsage usage = index(List.of(first, second), List.of(management, management)).getDrift().get(KEY);
+
+        assertEquals(Map.of(), usage.getDeclaredVersions());
+        assertEquals(List.of("first"), usage.getDeclaredExclusions());
+    }
+
+    @Test
+    public void testReactorOrder() {
+        // modules are not sorted by name, and the two management indexes alternate in the reactor
+        MavenProject zeta = project("zeta", management("1.0"));
+        MavenProject beta = project("beta", management("2.0"));
+        MavenProject alpha = project("alpha", management("1.0"));
+        MavenProject gamma = project("gamma", management("2.0"));
+        for (MavenProject project : List.of(zeta, beta, alpha, gamma)) {
+            declare(project, "3.0", true);
+        }
+
+        ManagementIndex first = ManagementIndex.forProject(zeta);
+        ManagementIndex second = ManagementIndex.forProject(beta);
+        KeyUsage usage = index(List.of(zeta, beta, alpha, gamma), List.of(first, second, first, second)).getDrift().get(KEY);
+
+        assertEquals(Map.of("1.0", List.of("zeta", "alpha"), "2.0", List.of("beta", "gamma")), usage.getManagedVersions());
+        assertEquals(Map.of("3.0", List.of("zeta", "beta", "alpha", "gamma")), usage.getDeclaredVersions());
+        assertEquals(List.of("zeta", "beta", "alpha", "gamma"), usage.getDeclaredExclusions());
+    }
+
+    /**
+     * Builds the index the way the mojo does: modules are grouped by management index in the order of their first module, declarations are added
+     * in reactor order.
+     */
+    private static BomDriftIndex index(List<MavenProject> projects, List<ManagementIndex> indexes) {
+        Map<ManagementIndex, List<String>> modulesByIndex = new LinkedHashMap<>();
+        for (int i = 0; i < projects.size(); i++) {
+            modulesByIndex.computeIfAbsent(indexes.get(i), k -> new ArrayList<>()).add(projects.get(i).getArtifactId());
+        }
+
+        BomDriftIndex driftIndex = new BomDriftIndex();
+        modulesByIndex.forEach(driftIndex::addManagement);
+        for (int i = 0; i < projects.size(); i++) {
+            driftIndex.addDeclarations(BomDriftIndex.findDeclarations(projects.get(i).getArtifactId(), projects.get(i), indexes.get(i)));
+        }
+        return driftIndex;
+    }
+
+    private static MavenProject project(String artifactId, DependencyManagement dependencyManagement) {
+        Model model = new Model();
+        model.setGroupId("g");
+        model.setArtifactId(artifactId);
+        model.setVersion("1.0");
+        model.setDependencyManagement(dependencyManagement);
+
+        MavenProject project = new MavenProject(model);
+        project.setOriginalModel(new Model());
+        return project;
+    }
+
+    private static DependencyManagement management(String version) {
+        DependencyManagement dependencyManagement = new DependencyManagement();
+        dependencyManagement.addDependency(dependency("a", version));
+        dependencyManagement.addDependency(dependency("stable", "1.0"));
+        return dependencyManagement;
+    }
+
+    /**
+     * Declares the managed dependency in a module. The effective model has the declared version, the original model has the exclusions.
+     */
+    private static void declare(MavenProject project, String version, boolean withExclusions) {
+        project.getModel().addDependency(dependency("a", version));
+
+        Dependency originalDependency = dependency("a", version);
+        if (withExclusions) {
+            originalDependency.addExclusion(exclusion("excluded", "artifact"));
+        }
+        project.getOriginalModel().addDependency(originalDependency);
+    }
+
+    private static Dependency dependency(String artifactId, String version) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("g");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        return dependency;
+    }
+
+    private static Exclusion exclusion(String groupId, String artifactId) {
+        Exclusion exclusion = new Exclusion();
+        exclusion.setGroupId(groupId);
+        exclusion.setArtifactId(artifactId);
+        return exclusion;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.basepom.mojo.dependencymanagement.ManagementViolation.Kind;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class TestDependencyManagementAnalyzer {
+
+    @Test
+    public void testSyntheticModelViolations() {
+        SyntheticModel model = SyntheticModel.generate(100, 50, 0);
+        DependencyManagementAnalyzer analyzer = analyzer(model, new RequireManagementMatcher(model.requireManagement()));
+
+        assertFalse(analyzer.analyze());
+
+        // of the 50 declared dependencies, 0, 13, 26 and 39 are unmanaged, 10, 20, 30 and 40 declare a different version and
+        // 7, 14, 21, 28, 35, 42 and 49 declare exclusions. The first of the two declared plugins declares a different version for itself,
+        // its dependency, its extension and its report plugin and has an unmanaged report plugin next to it.
+        Map<Kind, Integer> expected = Map.of(
+                Kind.UNMANAGED_DEPENDENCY, 4,
+                Kind.DEPENDENCY_VERSION_MISMATCH, 4,
+                Kind.DEPENDENCY_EXCLUSIONS, 7,
+                Kind.PLUGIN_VERSION_MISMATCH, 1,
+                Kind.PLUGIN_DEPENDENCY_VERSION_MISMATCH, 1,
+                Kind.REPORT_PLUGIN_VERSION_MISMATCH, 1,
+                Kind.UNMANAGED_REPORT_PLUGIN, 1,
+                Kind.EXTENSION_VERSION_MISMATCH, 1);
+
+        assertEquals(expected, analyzer.getViolationCounts());
+        assertEquals(expected, analyzer.getViolations().stream()
+                .collect(Collectors.groupingBy(ManagementViolation::getKind, Collectors.summingInt(violation -> 1))));
+    }
+
+    @Test
+    public void testPluginViolations() {
+        SyntheticModel model = SyntheticModel.generate(100, 50, 0);
+        DependencyManagementAnalyzer analyzer = analyzer(model, new RequireManagementMatcher(model.requireManagement()));
+        analyzer.analyze();
+
+        List<String> expected = List.of(
+                "PLUGIN_VERSION_MISMATCH synthetic.group0:plugin-0 1.0 2.0",
+                "PLUGIN_DEPENDENCY_VERSION_MISMATCH synthetic.group0:plugin-0 > synthetic.group0:plugin-dependency-0:jar 1.0 2.0",
+                "REPORT_PLUGIN_VERSION_MISMATCH synthetic.group0:plugin-0 1.0 2.0",
+                "UNMANAGED_REPORT_PLUGIN synthetic.group0:report-plugin-0 null null",
+                "EXTENSION_VERSION_MISMATCH synthetic.group0:plugin-0 1.0 2.0");
+
+        // the unversioned report plugin synthetic.group1:plugin-1 uses the managed version and is not reported
+        assertEquals(expected, analyzer.getViolations().stream()
+                .filter(violation -> violation.getKey().contains(":plugin-") || violation.getKey().contains(":report-plugin-"))
+                .map(violation -> String.join(" ", violation.getKind().name(), violation.getKey(), violation.getManagedVersion(),
+                        violation.getDeclaredVersion()))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testOverridesThatMatchNothing() {
+        SyntheticModel model = SyntheticModel.generate(100, 50, 0);
+        DependencyManagementAnalyzer analyzer = analyzer(model, new RequireManagementMatcher(model.requireManagement()));
+        analyzer.analyze();
+
+        SyntheticModel overriddenModel = SyntheticModel.generate(100, 50, 500);
+        DependencyManagementAnalyzer overriddenAnalyzer = analyzer(overriddenModel,
+                new RequireManagementMatcher(overriddenModel.requireManagement()));
+        overriddenAnalyzer.analyze();
+
+        assertEquals(keys(analyzer.getViolations()), keys(overriddenAnalyzer.getViolations()));
+    }
+
+    @Test
+    public void testSharedMatcherAndIndex() {
+        SyntheticModel model = SyntheticModel.generate(500, 200, 100);
+        RequireManagementMatcher matcher = new RequireManagementMatcher(model.requireManagement());
+        ManagementIndex index = ManagementIndex.forProject(model.project());
+
+        DependencyManagementAnalyzer first = new DependencyManagementAnalyzer(model.project(), matcher, index, null);
+        first.analyze();
+        DependencyManagementAnalyzer second = new DependencyManagementAnalyzer(model.project(), matcher, index, null);
+        second.analyze();
+
+        assertEquals(keys(first.getViolations()), keys(second.getViolations()));
+        assertEquals(first.getViolationCounts(), second.getViolationCounts());
+    }
+
+    private static DependencyManagementAnalyzer analyzer(SyntheticModel model, RequireManagementMatcher matcher) {
+        return new DependencyManagementAnalyzer(model.project(), matcher, ManagementIndex.forProject(model.project()), null);
+    }
+
+    private static List<String> keys(List<ManagementViolation> violations) {
+        return violations.stream().map(violation -> violation.getKind() + " " + violation.getKey()).collect(Collectors.toList());
+    }
+}
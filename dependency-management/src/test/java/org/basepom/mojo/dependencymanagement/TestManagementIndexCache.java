@@ -0,0 +1,139 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.function.Consumer;
+
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.PluginManagement;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+
+public class TestManagementIndexCache {
+
+    @Test
+    public void testEqualSectionsShareIndex() {
+        ManagementIndexCache cache = new ManagementIndexCache();
+        // separate but equal model objects, like the modules of a reactor that inherit the same parent
+        ManagementIndex first = cache.getIndex(project(dependency -> {}));
+        ManagementIndex second = cache.getIndex(project(dependency -> {}));
+
+        assertSame(first, second);
+        assertEquals(1, cache.getIndexesBuilt());
+        assertEquals(1, cache.getIndexesShared());
+    }
+
+    @Test
+    public void testDifferentScope() {
+        assertNotShared(dependency -> dependency.setScope("test"));
+    }
+
+    @Test
+    public void testDifferentType() {
+        assertNotShared(dependency -> dependency.setType("test-jar"));
+    }
+
+    @Test
+    public void testDifferentClassifier() {
+        assertNotShared(dependency -> dependency.setClassifier("tests"));
+    }
+
+    @Test
+    public void testDifferentVersion() {
+        assertNotShared(dependency -> dependency.setVersion("2.0"));
+    }
+
+    @Test
+    public void testDifferentExclusions() {
+        assertNotShared(dependency -> {
+            Exclusion exclusion = new Exclusion();
+            exclusion.setGroupId("excluded");
+            exclusion.setArtifactId("artifact");
+            dependency.addExclusion(exclusion);
+        });
+    }
+
+    @Test
+    public void testDifferentPluginDependency() {
+        ManagementIndexCache cache = new ManagementIndexCache();
+        MavenProject project = project(dependency -> {});
+        MavenProject otherProject = project(dependency -> {});
+        otherProject.getPluginManagement().getPlugins().get(0).getDependencies().get(0).setVersion("2.0");
+
+        assertNotSame(cache.getIndex(project), cache.getIndex(otherProject));
+        assertEquals(2, cache.getIndexesBuilt());
+    }
+
+    private static void assertNotShared(Consumer<Dependency> change) {
+        ManagementIndexCache cache = new ManagementIndexCache();
+        ManagementIndex index = cache.getIndex(project(dependency -> {}));
+        ManagementIndex changedIndex = cache.getIndex(project(change));
+
+        assertNotSame(index, changedIndex);
+        assertEquals(2, cache.getIndexesBuilt());
+        assertEquals(0, cache.getIndexesShared());
+
+        // both indexes are kept and shared with equal sections
+        assertSame(index, cache.getIndex(project(dependency -> {})));
+        assertSame(changedIndex, cache.getIndex(project(change)));
+    }
+
+    /**
+     * Builds a module with a small dependency and plugin management. The change is applied to the second managed dependency.
+     */
+    private static MavenProject project(Consumer<Dependency> change) {
+        Model model = new Model();
+        model.setGroupId("g");
+        model.setArtifactId("module");
+        model.setVersion("1.0");
+
+        DependencyManagement dependencyManagement = new DependencyManagement();
+        dependencyManagement.addDependency(dependency("first"));
+        Dependency changed = dependency("second");
+        change.accept(changed);
+        dependencyManagement.addDependency(changed);
+        model.setDependencyManagement(dependencyManagement);
+
+        Plugin plugin = new Plugin();
+        plugin.setGroupId("g");
+        plugin.setArtifactId("plugin");
+        plugin.setVersion("1.0");
+        plugin.addDependency(dependency("plugin-dependency"));
+        PluginManagement pluginManagement = new PluginManagement();
+        pluginManagement.addPlugin(plugin);
+        Build build = new Build();
+        build.setPluginManagement(pluginManagement);
+        model.setBuild(build);
+
+        return new MavenProject(model);
+    }
+
+    private static Dependency dependency(String artifactId) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId("g");
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion("1.0");
+        return dependency;
+    }
+}
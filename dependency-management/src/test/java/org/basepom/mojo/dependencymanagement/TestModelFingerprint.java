@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.apache.maven.model.Exclusion;
+import org.junit.jupiter.api.Test;
+
+public class TestModelFingerprint {
+
+    private static final String CONFIGURATION = "1.0:true";
+
+    @Test
+    public void testSameModelSameFingerprint() {
+        assertEquals(fingerprint(model -> {}), fingerprint(model -> {}));
+    }
+
+    @Test
+    public void testOriginalModelExclusion() {
+        assertChanged(model -> {
+            Exclusion exclusion = new Exclusion();
+            exclusion.setGroupId("excluded");
+            exclusion.setArtifactId("other");
+            model.project().getOriginalModel().getDependencies().get(1).addExclusion(exclusion);
+        });
+    }
+
+    @Test
+    public void testManagedVersion() {
+        assertChanged(model -> model.project().getDependencyManagement().getDependencies().get(0).setVersion("3.0"));
+    }
+
+    @Test
+    public void testPluginDependencyVersion() {
+        assertChanged(model -> model.project().getBuildPlugins().get(0).getDependencies().get(0).setVersion("3.0"));
+        assertChanged(model -> model.project().getPluginManagement().getPlugins().get(0).getDependencies().get(0).setVersion("3.0"));
+    }
+
+    @Test
+    public void testOverridePattern() {
+        assertChanged(model -> {
+            RequireManagementOverride override = model.requireManagement().getOverrides().get(0);
+            List<String> patterns = new ArrayList<>(override.getPatterns());
+            patterns.set(0, patterns.get(0) + "-changed");
+            override.setPatterns(patterns);
+        });
+    }
+
+    @Test
+    public void testConfiguration() {
+        SyntheticModel model = SyntheticModel.generate(100, 50, 20);
+        assertNotEquals(ModelFingerprint.compute(model.project(), model.requireManagement(), CONFIGURATION),
+                ModelFingerprint.compute(model.project(), model.requireManagement(), "1.0:false"));
+    }
+
+    private static void assertChanged(Consumer<SyntheticModel> change) {
+        assertNotEquals(fingerprint(model -> {}), fingerprint(change));
+    }
+
+    private static String fingerprint(Consumer<SyntheticModel> change) {
+        SyntheticModel model = SyntheticModel.generate(100, 50, 20);
+        change.accept(model);
+        return ModelFingerprint.compute(model.project(), model.requireManagement(), CONFIGURATION);
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencymanagement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.codehaus.plexus.util.SelectorUtils;
+import org.junit.jupiter.api.Test;
+
+public class TestRequireManagementMatcher {
+
+    private static final String[] GROUPS = {"org.example", "org.example.sub", "com.acme", "com.acme.internal", "com.google.guava", "net"};
+    private static final String[] ARTIFACTS = {"special", "spexial", "guava", "lib", "lib-core", "api"};
+    private static final String[] SUFFIXES = {"", ":jar", ":pom", ":test-jar:tests", ":jar:sources", ":maven-plugin"};
+
+    @Test
+    public void testMixedPatterns() {
+        RequireManagement requireManagement = requireManagement(
+            List.of("org.example:special", "*:guava", "com.acme.*"),
+            List.of("org.example:*", "com.google.guava:guava"),
+            List.of("com.acme.internal:*", "org.*:spe?ial"));
+
+        RequireManagementMatcher matcher = new RequireManagementMatcher(requireManagement);
+
+        assertMatches(requireManagement, matcher, "org.example:special:jar", 0);
+        assertMatches(requireManagement, matcher, "org.example:other:test-jar:tests", 1);
+        // the glob pattern of the first override wins over the exact pattern of the second
+        assertMatches(requireManagement, matcher, "com.google.guava:guava:jar", 0);
+        // the prefix pattern of the first override wins over the prefix pattern of the third
+        assertMatches(requireManagement, matcher, "com.acme.internal:lib:pom", 0);
+        assertMatches(requireManagement, matcher, "org.foo:spetial", 2);
+        assertMatches(requireManagement, matcher, "org.foo:spexxial:jar", -1);
+        assertMatches(requireManagement, matcher, "net:lib:jar:sources", -1);
+    }
+
+    @Test
+    public void testRandomPatterns() {
+        Random random = new Random(1234L);
+        for (int round = 0; round < 200; round++) {
+            List<List<String>> overrides = new ArrayList<>();
+            int overrideCount = 1 + random.nextInt(5);
+            for (int i = 0; i < overrideCount; i++) {
+                List<String> patterns = new ArrayList<>();
+                int patternCount = 1 + random.nextInt(4);
+                for (int j = 0; j < patternCount; j++) {
+                    patterns.add(randomPattern(random));
+                }
+                overrides.add(patterns);
+            }
+
+            RequireManagement requireManagement = requireManagement(overrides.toArray(new List[0]));
+            RequireManagementMatcher matcher = new RequireManagementMatcher(requireManagement);
+
+            for (String group : GROUPS) {
+                for (String artifact : ARTIFACTS) {
+                    String key = group + ":" + artifact + SUFFIXES[random.nextInt(SUFFIXES.length)];
+                    assertEquals(flags(originalConfig(requireManagement, key)), flags(matcher.getEffectiveConfig(key)), overrides + " " + key);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSyntheticModel() {
+        SyntheticModel model = SyntheticModel.generate(1000, 500, 500);
+        RequireManagement requireManagement = model.requireManagement();
+        RequireManagementMatcher matcher = new RequireManagementMatcher(requireManagement);
+
+        List<String> keys = new ArrayList<>();
+        model.project().getDependencies().forEach(dependency -> keys.add(dependency.getManagementKey()));
+        model.project().getBuildPlugins().forEach(plugin -> keys.add(plugin.getKey()));
+        // one key for each of the exact, prefix and glob patterns of the model
+        String[] matchingKeys = {
+            "other.group%1$d:artifact-%1$d:jar", "other.group%1$d.sub:artifact:test-jar:tests", "some.group:other-artifact-%1$d-core"};
+        for (int i = 0; i < 500; i++) {
+            keys.add(String.format(matchingKeys[i % 3], i));
+        }
+
+        int overridden = 0;
+        for (String key : keys) {
+            RequireManagementConfig expected = originalConfig(requireManagement, key);
+            assertEquals(flags(expected), flags(matcher.getEffectiveConfig(key)), key);
+            if (expected != requireManagement) {
+                overridden++;
+            }
+        }
+        assertEquals(500, overridden);
+    }
+
+    private static String randomPattern(Random random) {
+        String group = GROUPS[random.nextInt(GROUPS.length)];
+        String artifact = ARTIFACTS[random.nextInt(ARTIFACTS.length)];
+        switch (random.nextInt(6)) {
+            case 0:
+                return group + ":" + artifact;
+            case 1:
+                return group + ":*";
+            case 2:
+                return group.substring(0, 1 + random.nextInt(group.length())) + "*";
+            case 3:
+                return "*:" + artifact;
+            case 4:
+                int wildcard = random.nextInt(artifact.length());
+                return group + ":" + artifact.substring(0, wildcard) + "?" + artifact.substring(wildcard + 1);
+            default:
+                return "*";
+        }
+    }
+
+    private static void assertMatches(RequireManagement requireManagement, RequireManagementMatcher matcher, String key, int expectedOverride) {
+        RequireManagementConfig expected = expectedOverride < 0 ? requireManagement
+            : requireManagement.getOverrides().get(expectedOverride).toRequireManagementConfig(requireManagement);
+
+        assertEquals(flags(expected), flags(originalConfig(requireManagement, key)), key);
+        assertEquals(flags(expected), flags(matcher.getEffectiveConfig(key)), key);
+        // memoized result
+        assertEquals(flags(expected), flags(matcher.getEffectiveConfig(key)), key);
+    }
+
+    /**
+     * The override lookup before the matcher existed: the first matching pattern of the first matching override.
+     */
+    private static RequireManagementConfig originalConfig(RequireManagement requireManagement, String key) {
+        if (key.indexOf(':') != key.lastIndexOf(':')) {
+            key = key.substring(0, key.indexOf(':', key.indexOf(':') + 1));
+        }
+        for (RequireManagementOverride override : requireManagement.getOverrides()) {
+            for (String pattern : override.getPatterns()) {
+                if (SelectorUtils.match(pattern, key)) {
+                    return override.toRequireManagementConfig(requireManagement);
+                }
+            }
+        }
+        return requireManagement;
+    }
+
+    /**
+     * Every override gets a different combination of flags and the defaults have all flags cleared, so the flags identify the configuration.
+     */
+    @SafeVarargs
+    private static RequireManagement requireManagement(List<String>... patterns) {
+        RequireManagement requireManagement = new RequireManagement();
+        requireManagement.setDependencies(false);
+        requireManagement.setPlugins(false);
+        requireManagement.setAllowVersions(false);
+        requireManagement.setAllowExclusions(false);
+
+        List<RequireManagementOverride> overrides = new ArrayList<>();
+        for (int i = 0; i < patterns.length; i++) {
+            int flags = i + 1;
+            RequireManagementOverride override = new RequireManagementOverride();
+            override.setPatterns(patterns[i]);
+            override.setDependencies((flags & 1) != 0);
+            override.setPlugins((flags & 2) != 0);
+            override.setAllowVersions((flags & 4) != 0);
+            override.setAllowExclusions((flags & 8) != 0);
+            overrides.add(override);
+        }
+        requireManagement.setOverrides(overrides);
+        return requireManagement;
+    }
+
+    private static int flags(RequireManagementConfig config) {
+        return (config.requireDependencyManagement() ? 1 : 0)
+            | (config.requirePluginManagement() ? 2 : 0)
+            | (config.allowVersions() ? 4 : 0)
+            | (config.allowExclusions() ? 8 : 0);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import org.basepom.mojo.dependencyscope.TraversalBudget.Limit;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.DefaultProjectBuildingRequest;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectBuildingRequest;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
+import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.repository.RemoteRepository;
+
+public abstract class AbstractDependencyScopeMojo extends AbstractMojo {
+
+    @Parameter(defaultValue = "${session}", required = true, readonly = true)
+    public MavenSession session;
+
+    @Parameter(defaultValue = "${repositorySystemSession}", required = true, readonly = true)
+    public RepositorySystemSession repositorySystemSession;
+
+    @Parameter(property = "useParallelDependencyResolution", defaultValue = "true")
+    public boolean useParallelDependencyResolution;
+
+    @Parameter(defaultValue = "false")
+    public boolean linkToDocumentation;
+
+    @Parameter(defaultValue = "false")
+    public boolean fail;
+
+    @Parameter(defaultValue = "false")
+    public boolean skip;
+
+    @Parameter(property = "verbose", defaultValue = "true")
+    public boolean verbose;
+
+    @Parameter(property = "dependency-scope.traversal", defaultValue = "DEPTH_FIRST")
+    public TraversalMode traversal;
+
+    @Parameter(property = "dependency-scope.max-depth", defaultValue = "0")
+    public int maxDepth;
+
+    @Parameter(property = "dependency-scope.max-resolutions", defaultValue = "0")
+    public int maxResolutions;
+
+    @Parameter(property = "dependency-scope.timeout", defaultValue = "0")
+    public int timeout;
+
+    @Parameter(property = "dependency-scope.max-concurrent-resolutions", defaultValue = "0")
+    public int maxConcurrentResolutions;
+
+    @Parameter(property = "dependency-scope.resolution-rate", defaultValue = "0")
+    public int resolutionRate;
+
+    @Parameter(property = "dependency-scope.max-violations", defaultValue = "0")
+    public int maxViolations;
+
+    @Parameter(defaultValue = "${plugin}", required = true, readonly = true)
+    public PluginDescriptor pluginDescriptor;
+
+    @Component
+    public RepositorySystem repositorySystem;
+
+    @Component
+    public DependencyGraphBuilder dependencyGraphBuilder;
+
+    protected DependencyScopeAnalyzer newAnalyzer(DescriptorResolver descriptorResolver, TraversalCache cache, TraversalStatistics statistics,
+            ViolationSink sink) {
+        return new DependencyScopeAnalyzer(descriptorResolver, cache, statistics, new TraversalBudget(maxDepth, maxResolutions, timeout), traversal,
+            sink, getLog());
+    }
+
+    /**
+     * Returns the number of violations after which the check stops. Stopping early only makes sense if the build fails anyway.
+     */
+    protected int violationLimit() {
+        return fail ? maxViolations : 0;
+    }
+
+    protected Consumer<String> violationLogger() {
+        return fail ? getLog()::error : getLog()::warn;
+    }
+
+    protected void reportStopped(ViolationSink sink) {
+        getLog().warn("Dependency scope check stopped after " + sink.getViolationCount() + " violations, not all artifacts were examined");
+    }
+
+    protected DescriptorResolver newDescriptorResolver(List<RemoteRepository> repositories, ListeningExecutorService executorService,
+            TraversalStatistics statistics) {
+        RepositoryThrottle throttle = RepositoryThrottle.forSession(repositorySystemSession, maxConcurrentResolutions, resolutionRate);
+        return new DescriptorResolver(repositorySystem, repositorySystemSession, repositories, throttle, executorService, statistics);
+    }
+
+    protected void logStatistics(TraversalStatistics statistics) {
+        getLog().debug(String.format("Resolved %d descriptors (%d requests shared) in %d ms, waited %d ms (max %d ms) for the repository throttle",
+            statistics.getDescriptorsResolved(), statistics.getDescriptorRequestsCoalesced(), statistics.getElapsedTimeMillis(),
+            statistics.getQueueWaitTimeMillis(), statistics.getMaxQueueWaitTimeMillis()));
+    }
+
+    protected DependencyNode buildDependencyNode(MavenProject project) throws MojoExecutionException {
+        try {
+            ProjectBuildingRequest buildingRequest = new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
+            buildingRequest.setProject(project);
+
+            return dependencyGraphBuilder.buildDependencyGraph(buildingRequest, artifact ->
+                !Artifact.SCOPE_PROVIDED.equals(artifact.getScope()) && !Artifact.SCOPE_SYSTEM.equals(artifact.getScope()));
+        } catch (DependencyGraphBuilderException e) {
+            throw new MojoExecutionException("Error building dependency graph for " + project.getId(), e);
+        }
+    }
+
+    protected void reportSkippedArtifacts(SortedMap<String, Limit> skippedArtifacts) {
+        Map<Limit, Long> counts = skippedArtifacts.values().stream()
+            .collect(Collectors.groupingBy(Function.identity(), () -> new EnumMap<>(Limit.class), Collectors.counting()));
+
+        getLog().warn("Dependency scope check is incomplete, not all artifacts were examined:");
+        counts.forEach((limit, count) -> getLog().warn(count + " artifacts skipped, " + limit.getDescription() + " reached"));
+
+        if (verbose) {
+            skippedArtifacts.forEach((artifact, limit) -> getLog().warn("Not examined (" + limit.getDescription() + "): " + artifact));
+        }
+    }
+
+    protected void reportViolations(List<String> messages) throws MojoFailureException {
+        reportViolations(messages, false);
+    }
+
+    /**
+     * Reports the violation messages and fails the build if configured. Messages that were already streamed by a {@link ViolationSink} are not logged
+     * again.
+     */
+    protected void reportViolations(List<String> messages, boolean streamed) throws MojoFailureException {
+        if (messages.isEmpty()) {
+            getLog().info("No test dependency scope issues found");
+            return;
+        }
+
+        if (!streamed) {
+            messages.forEach(violationLogger());
+        }
+
+        if (linkToDocumentation) {
+            getLog().info("For information on how to fix these issues, see here:");
+            getLog().info("https://github.com/HubSpot/dependency-scope-maven-plugin#how-to-fix-issues");
+        }
+
+        if (fail) {
+            throw new MojoFailureException("Test dependency scope issues found");
+        }
+    }
+
+    protected ListeningExecutorService newExecutorService() {
+        if (useParallelDependencyResolution) {
+            getLog().debug("Using parallel dependency resolution");
+            return MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(Math.min(Runtime.getRuntime().availableProcessors() * 5, 20),
+                new ThreadFactoryBuilder().setNameFormat("dependency-project-builder-%s").setDaemon(true).build()));
+        } else {
+            getLog().debug("Using single-threaded dependency resolution");
+            return MoreExecutors.newDirectExecutorService();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+/**
+ * The version-less coordinates (groupId, artifactId, extension and classifier) of an artifact. Canonical instances are handed out by the
+ * {@link TraversalCache}; the hash code is computed once and the dependency key is built at most once per instance.
+ */
+public final class ArtifactKey {
+
+    private final String groupId;
+    private final String artifactId;
+    private final String extension;
+    private final String classifier;
+    private final int hashCode;
+
+    private String dependencyKey;
+
+    ArtifactKey(String groupId, String artifactId, String extension, String classifier) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.extension = extension;
+        this.classifier = classifier;
+
+        int hash = groupId.hashCode();
+        hash = 31 * hash + artifactId.hashCode();
+        hash = 31 * hash + extension.hashCode();
+        this.hashCode = 31 * hash + classifier.hashCode();
+    }
+
+    public String getGroupId() {
+        return groupId;
+    }
+
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getClassifier() {
+        return classifier;
+    }
+
+    /**
+     * Returns the key in the same format as {@link org.apache.maven.artifact.Artifact#getDependencyConflictId()}.
+     */
+    public String getDependencyKey() {
+        String key = dependencyKey;
+        if (key == null) {
+            StringBuilder builder = new StringBuilder().append(groupId).append(':').append(artifactId).append(':').append(extension);
+
+            if (!classifier.isEmpty()) {
+                builder.append(':').append(classifier);
+            }
+
+            key = builder.toString();
+            dependencyKey = key;
+        }
+        return key;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ArtifactKey that = (ArtifactKey) o;
+        return hashCode == that.hashCode
+                && groupId.equals(that.groupId)
+                && artifactId.equals(that.artifactId)
+                && extension.equals(that.extension)
+                && classifier.equals(that.classifier);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return getDependencyKey();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free bit set for non-negative indexes. Memory is allocated in pages when the first bit of a page is set, so a set that only holds a few high
+ * indexes stays small.
+ */
+public final class AtomicBitSet {
+
+    private static final int PAGE_SHIFT = 19;
+    private static final int PAGE_BITS = 1 << PAGE_SHIFT;
+    private static final int PAGE_COUNT = (int) ((1L << 31) >>> PAGE_SHIFT);
+
+    private final AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(PAGE_COUNT);
+
+    /**
+     * Sets a bit. Returns true if the bit was not set before.
+     */
+    public boolean set(int index) {
+        checkArgument(index >= 0, "index must not be negative: %s", index);
+
+        AtomicLongArray page = page(index >>> PAGE_SHIFT);
+        int word = (index & (PAGE_BITS - 1)) >>> 6;
+        long mask = 1L << index;
+
+        while (true) {
+            long value = page.get(word);
+            if ((value & mask) != 0) {
+                return false;
+            }
+            if (page.compareAndSet(word, value, value | mask)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean get(int index) {
+        checkArgument(index >= 0, "index must not be negative: %s", index);
+
+        AtomicLongArray page = pages.get(index >>> PAGE_SHIFT);
+        return page != null && (page.get((index & (PAGE_BITS - 1)) >>> 6) & (1L << index)) != 0;
+    }
+
+    private AtomicLongArray page(int pageIndex) {
+        AtomicLongArray page = pages.get(pageIndex);
+        if (page == null) {
+            pages.compareAndSet(pageIndex, null, new AtomicLongArray(PAGE_BITS >>> 6));
+            page = pages.get(pageIndex);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+/**
+ * Stores the result of a dependency scope check as JSON, together with the fingerprint of its inputs. Besides the messages that were reported by
+ * the check, the result contains the violations, so that a report can be written when the result is replayed.
+ */
+public final class CheckResultFile {
+
+    private static final String FILE_NAME = "check-result.json";
+    private static final Gson GSON = new Gson();
+
+    private final Path path;
+
+    public CheckResultFile(File directory) {
+        this.path = directory.toPath().resolve(FILE_NAME);
+    }
+
+    /**
+     * Returns the stored result if a result for the given fingerprint exists.
+     */
+    public Optional<CheckResult> load(String fingerprint) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        CheckResult result;
+        try (Reader reader = Files.newBufferedReader(path, UTF_8)) {
+            result = GSON.fromJson(reader, CheckResult.class);
+        } catch (JsonParseException e) {
+            throw new IOException("Could not parse " + path, e);
+        }
+
+        if (result == null || !fingerprint.equals(result.fingerprint) || result.messages == null || result.violations == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(result);
+    }
+
+    public void store(String fingerprint, List<String> messages, List<ViolationReport.Entry> violations) throws IOException {
+        Files.createDirectories(path.getParent());
+
+        Path newFile = path.resolveSibling(FILE_NAME + ".new");
+        try (Writer writer = Files.newBufferedWriter(newFile, UTF_8)) {
+            GSON.toJson(new CheckResult(fingerprint, messages, violations), writer);
+        }
+        Files.move(newFile, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public static final class CheckResult {
+
+        private final String fingerprint;
+        private final List<String> messages;
+        private final List<ViolationReport.Entry> violations;
+
+        private CheckResult(String fingerprint, List<String> messages, List<ViolationReport.Entry> violations) {
+            this.fingerprint = fingerprint;
+            this.messages = messages;
+            this.violations = violations;
+        }
+
+        public List<String> getMessages() {
+            return ImmutableList.copyOf(messages);
+        }
+
+        public List<ViolationReport.Entry> getViolations() {
+            return ImmutableList.copyOf(violations);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Checks dependency scopes from snapshots written by the <code>check</code> goal with <code>exportSnapshot</code> enabled. Does not need a project
+ * and does not access any repository, so it can run offline on snapshots that were collected from any number of builds. Snapshots are checked in
+ * parallel and reported in the order in which they were found.
+ */
+@Mojo(name = "check-snapshots", requiresProject = false, threadSafe = true)
+public class CheckSnapshotsMojo extends AbstractMojo {
+
+    /**
+     * Snapshot files, or directories that are searched for snapshot files.
+     */
+    @Parameter(property = "dependency-scope.snapshots", required = true)
+    public List<File> snapshots;
+
+    @Parameter(defaultValue = "false")
+    public boolean fail;
+
+    @Parameter(defaultValue = "false")
+    public boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping plugin execution");
+            return;
+        }
+
+        List<Path> snapshotFiles;
+        try {
+            snapshotFiles = SnapshotAnalyzer.findSnapshots(snapshots.stream().map(File::toPath).collect(Collectors.toList()));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not search for dependency snapshots", e);
+        }
+
+        if (snapshotFiles.isEmpty()) {
+            getLog().warn("No dependency snapshots found");
+            return;
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.min(Runtime.getRuntime().availableProcessors(), snapshotFiles.size()),
+            new ThreadFactoryBuilder().setNameFormat("dependency-scope-snapshot-%s").setDaemon(true).build());
+
+        Consumer<String> violationLogger = fail ? getLog()::error : getLog()::warn;
+        boolean violations = false;
+        int errors = 0;
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>(snapshotFiles.size());
+            for (Path snapshotFile : snapshotFiles) {
+                futures.add(executorService.submit(() -> SnapshotAnalyzer.analyze(snapshotFile, getLog())));
+            }
+
+            // report in the order of the snapshots, so the output does not depend on scheduling
+            for (int i = 0; i < snapshotFiles.size(); i++) {
+                try {
+                    List<String> messages = futures.get(i).get();
+                    violations |= !messages.isEmpty();
+                    messages.forEach(violationLogger);
+                } catch (ExecutionException e) {
+                    errors++;
+                    getLog().error("Could not check " + snapshotFiles.get(i), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while checking dependency snapshots", e);
+        } finally {
+            executorService.shutdown();
+        }
+
+        if (errors > 0) {
+            throw new MojoExecutionException(errors + " dependency snapshots could not be checked");
+        }
+
+        if (!violations) {
+            getLog().info("No test dependency scope issues found in " + snapshotFiles.size() + " snapshots");
+        } else if (fail) {
+            throw new MojoFailureException("Test dependency scope issues found");
+        }
+    }
+}
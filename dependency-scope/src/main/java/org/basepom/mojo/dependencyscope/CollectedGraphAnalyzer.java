@@ -0,0 +1,212 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.ArtifactTypeRegistry;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.DependencyCollectionException;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyNode;
+import org.eclipse.aether.util.graph.manager.DependencyManagerUtils;
+import org.eclipse.aether.util.graph.transformer.ConflictResolver;
+
+/**
+ * Finds the same violations as {@link DependencyScopeAnalyzer} from a single dependency collection instead of resolving the descriptor of every
+ * artifact. The collector runs in verbose mode, so nodes that lost version or scope mediation stay in the graph and every node keeps the scope that
+ * its parent declared. The collected graph is then checked in one local pass.
+ */
+public final class CollectedGraphAnalyzer {
+
+    private final RepositorySystem repositorySystem;
+    private final RepositorySystemSession repositorySystemSession;
+    private final TraversalCache cache;
+    private final TraversalStatistics statistics;
+    private final ViolationSink sink;
+
+    public CollectedGraphAnalyzer(RepositorySystem repositorySystem, RepositorySystemSession repositorySystemSession, TraversalCache cache,
+            TraversalStatistics statistics, ViolationSink sink) {
+        this.repositorySystem = repositorySystem;
+        this.repositorySystemSession = repositorySystemSession;
+        this.cache = cache;
+        this.statistics = statistics;
+        this.sink = sink;
+    }
+
+    public Set<DependencyViolation> analyze(MavenProject project) throws MojoExecutionException {
+        DependencyNode root = collect(project);
+
+        Set<DependencyViolation> violations = new HashSet<>();
+        BitSet checkedArtifacts = new BitSet();
+
+        // breadth first, so every violation is reported with the shortest path to the project
+        Deque<PendingNode> queue = new ArrayDeque<>();
+        TraversalContext projectContext = projectContext(project);
+        for (DependencyNode child : root.getChildren()) {
+            queue.add(new PendingNode(projectContext.stepInto(artifactFor(child), ImmutableSet.of()), child));
+        }
+
+        while (!queue.isEmpty() && !sink.isLimitReached()) {
+            PendingNode pending = queue.poll();
+            TraversalContext context = pending.context;
+
+            if (checkedArtifacts.get(context.artifactIndex())) {
+                statistics.artifactAlreadyChecked();
+                continue;
+            }
+            checkedArtifacts.set(context.artifactIndex());
+
+            long startTime = System.nanoTime();
+            for (DependencyNode child : pending.node.getChildren()) {
+                Dependency dependency = declaredDependency(child);
+                if (!dependencyRequiredAtRuntime(dependency)) {
+                    continue;
+                }
+
+                if (context.isOverriddenToTestScope(dependency)) {
+                    DependencyViolation violation = new DependencyViolation(context, dependency);
+                    if (sink.accept(violation)) {
+                        violations.add(violation);
+                    }
+                }
+
+                // nodes that lost mediation have no children
+                if (!child.getChildren().isEmpty()) {
+                    queue.add(new PendingNode(context.stepInto(artifactFor(child), ImmutableSet.of()), child));
+                }
+            }
+            statistics.artifactVisited(context, System.nanoTime() - startTime);
+        }
+
+        return violations;
+    }
+
+    /**
+     * Returns true if the check was stopped early because the violation sink reached its limit.
+     */
+    public boolean isStopped() {
+        return sink.isLimitReached();
+    }
+
+    private DependencyNode collect(MavenProject project) throws MojoExecutionException {
+        DefaultRepositorySystemSession verboseSession = new DefaultRepositorySystemSession(repositorySystemSession);
+        verboseSession.setConfigProperty(ConflictResolver.CONFIG_PROP_VERBOSE, true);
+        verboseSession.setConfigProperty(DependencyManagerUtils.CONFIG_PROP_VERBOSE, true);
+
+        ArtifactTypeRegistry artifactTypes = repositorySystemSession.getArtifactTypeRegistry();
+
+        CollectRequest request = new CollectRequest();
+        request.setRootArtifact(RepositoryUtils.toArtifact(project.getArtifact()));
+        request.setRepositories(project.getRemoteProjectRepositories());
+        request.setRequestContext("project");
+
+        // test-scoped dependencies are what the check looks for, so they must not take part in the mediation of the other dependencies
+        for (org.apache.maven.model.Dependency dependency : project.getDependencies()) {
+            if (isRootScope(dependency.getScope())) {
+                request.addDependency(RepositoryUtils.toDependency(dependency, artifactTypes));
+            }
+        }
+
+        if (project.getDependencyManagement() != null) {
+            for (org.apache.maven.model.Dependency dependency : project.getDependencyManagement().getDependencies()) {
+                request.addManagedDependency(RepositoryUtils.toDependency(dependency, artifactTypes));
+            }
+        }
+
+        try {
+            return repositorySystem.collectDependencies(verboseSession, request).getRoot();
+        } catch (DependencyCollectionException e) {
+            throw new MojoExecutionException("Error collecting dependencies for " + project.getId(), e);
+        }
+    }
+
+    private TraversalContext projectContext(MavenProject project) {
+        ImmutableSet<String> testScopedArtifacts = project.getDependencies().stream()
+            .filter(dependency -> Artifact.SCOPE_TEST.equals(dependency.getScope()))
+            .map(org.apache.maven.model.Dependency::getManagementKey).collect(ImmutableSet.toImmutableSet());
+
+        ImmutableMap<String, String> dependencyVersions = project.getArtifacts().stream()
+            .collect(ImmutableMap.toImmutableMap(Artifact::getDependencyConflictId, Artifact::getBaseVersion));
+
+        return TraversalContext.restore(project.getArtifact(), testScopedArtifacts, dependencyVersions, ImmutableMap.of(), cache);
+    }
+
+    private Artifact artifactFor(DependencyNode node) {
+        return cache.artifactFor(declaredDependency(node), node.getArtifact().getBaseVersion());
+    }
+
+    /**
+     * Returns the dependency of a node with the scope and optional flag that its parent declared, before dependency management and mediation.
+     */
+    private static Dependency declaredDependency(DependencyNode node) {
+        Dependency dependency = node.getDependency();
+
+        String scope = DependencyManagerUtils.getPremanagedScope(node);
+        if (scope == null) {
+            scope = (String) node.getData().get(ConflictResolver.NODE_DATA_ORIGINAL_SCOPE);
+        }
+        if (scope != null) {
+            dependency = dependency.setScope(scope);
+        }
+
+        Boolean optional = DependencyManagerUtils.getPremanagedOptional(node);
+        if (optional == null) {
+            optional = (Boolean) node.getData().get(ConflictResolver.NODE_DATA_ORIGINAL_OPTIONALITY);
+        }
+        if (optional != null) {
+            dependency = dependency.setOptional(optional);
+        }
+
+        return dependency;
+    }
+
+    private static boolean isRootScope(String scope) {
+        return !Artifact.SCOPE_TEST.equals(scope) && !Artifact.SCOPE_PROVIDED.equals(scope) && !Artifact.SCOPE_SYSTEM.equals(scope);
+    }
+
+    private static boolean dependencyRequiredAtRuntime(Dependency dependency) {
+        if (dependency.isOptional()) {
+            return false;
+        } else {
+            String scope = dependency.getScope();
+            return Artifact.SCOPE_COMPILE.equals(scope) || Artifact.SCOPE_RUNTIME.equals(scope);
+        }
+    }
+
+    private static final class PendingNode {
+
+        private final TraversalContext context;
+        private final DependencyNode node;
+
+        private PendingNode(TraversalContext context, DependencyNode node) {
+            this.context = context;
+            this.node = node;
+        }
+    }
+}
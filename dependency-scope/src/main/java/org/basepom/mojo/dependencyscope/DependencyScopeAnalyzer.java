@@ -0,0 +1,267 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import org.basepom.mojo.dependencyscope.TraversalBudget.Limit;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+
+/**
+ * Walks the dependency graph of a single project and finds all test-scoped dependencies that are required at compile or runtime scope by another
+ * dependency. Descriptor resolver, cache and statistics can be shared between analyzers for different projects.
+ */
+public final class DependencyScopeAnalyzer {
+
+    private final DescriptorResolver descriptorResolver;
+    private final TraversalCache cache;
+    private final TraversalStatistics statistics;
+    private final TraversalBudget budget;
+    private final TraversalMode traversal;
+    private final ViolationSink sink;
+    private final Log log;
+
+    private final AtomicBitSet checkedArtifacts = new AtomicBitSet();
+
+    public DependencyScopeAnalyzer(DescriptorResolver descriptorResolver, TraversalCache cache, TraversalStatistics statistics, TraversalBudget budget,
+            TraversalMode traversal, ViolationSink sink, Log log) {
+        this.descriptorResolver = descriptorResolver;
+        this.cache = cache;
+        this.statistics = statistics;
+        this.budget = budget;
+        this.traversal = traversal;
+        this.sink = sink;
+        this.log = log;
+    }
+
+    public Set<DependencyViolation> analyze(MavenProject project, DependencyNode node) throws MojoExecutionException {
+        return analyze(rootContexts(project, node, cache));
+    }
+
+    /**
+     * Finds all violations below the given contexts for the direct dependencies of a project.
+     */
+    public Set<DependencyViolation> analyze(List<TraversalContext> roots) throws MojoExecutionException {
+        if (traversal == TraversalMode.BREADTH_FIRST) {
+            return findViolationsBreadthFirst(roots);
+        } else {
+            List<ListenableFuture<Set<DependencyViolation>>> futures = new ArrayList<>();
+            for (TraversalContext root : roots) {
+                futures.add(findViolations(root));
+            }
+            return Sets.newHashSet(Iterables.concat(resolve(Futures.allAsList(futures))));
+        }
+    }
+
+    /**
+     * Returns the traversal contexts for all direct dependencies of a project that are not test-scoped.
+     */
+    public static List<TraversalContext> rootContexts(MavenProject project, DependencyNode node, TraversalCache cache) {
+        TraversalContext context = TraversalContext.newContextFor(project, node, cache);
+
+        List<TraversalContext> roots = new ArrayList<>();
+        for (DependencyNode dependency : node.getChildren()) {
+            if (!Artifact.SCOPE_TEST.equals(dependency.getArtifact().getScope())) {
+                roots.add(context.stepInto(project, dependency));
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Returns all artifacts that were not examined because a limit of the traversal budget was reached.
+     */
+    public SortedMap<String, Limit> getSkippedArtifacts() {
+        return budget.getSkippedArtifacts(checkedArtifacts);
+    }
+
+    /**
+     * Returns true if the traversal was stopped early because the violation sink reached its limit.
+     */
+    public boolean isStopped() {
+        return sink.isLimitReached();
+    }
+
+    private Set<DependencyViolation> findViolationsBreadthFirst(List<TraversalContext> roots) throws MojoExecutionException {
+        Set<DependencyViolation> violations = new HashSet<>();
+
+        List<TraversalContext> level = roots;
+        while (!level.isEmpty()) {
+            List<ListenableFuture<TraversalStep>> futures = new ArrayList<>(level.size());
+            for (TraversalContext context : level) {
+                futures.add(examine(context));
+            }
+
+            List<TraversalContext> nextLevel = new ArrayList<>();
+            for (TraversalStep step : resolve(Futures.allAsList(futures))) {
+                violations.addAll(step.violations);
+                nextLevel.addAll(step.children);
+            }
+            level = nextLevel;
+        }
+
+        return violations;
+    }
+
+    private ListenableFuture<Set<DependencyViolation>> findViolations(TraversalContext context) {
+        return Futures.transformAsync(examine(context), step -> {
+            if (step.children.isEmpty()) {
+                return Futures.immediateFuture(step.violations);
+            }
+
+            List<ListenableFuture<Set<DependencyViolation>>> subfutures = new ArrayList<>(step.children.size());
+            for (TraversalContext subcontext : step.children) {
+                subfutures.add(findViolations(subcontext));
+            }
+
+            return Futures.transform(Futures.allAsList(subfutures), results -> {
+                Set<DependencyViolation> violations = new HashSet<>(step.violations);
+                results.forEach(violations::addAll);
+                return violations;
+            }, MoreExecutors.directExecutor());
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Resolves the descriptor of the current artifact and examines its dependencies. Artifacts that have already been checked or that are outside the
+     * traversal budget result in an empty step, as does everything after the violation sink has reached its limit.
+     */
+    private ListenableFuture<TraversalStep> examine(TraversalContext context) {
+        if (sink.isLimitReached() || !budget.withinDepth(context)) {
+            return Futures.immediateFuture(TraversalStep.EMPTY);
+        }
+
+        if (!checkedArtifacts.set(context.artifactIndex())) {
+            statistics.artifactAlreadyChecked();
+            return Futures.immediateFuture(TraversalStep.EMPTY);
+        }
+
+        if (!budget.tryResolve(context)) {
+            return Futures.immediateFuture(TraversalStep.EMPTY);
+        }
+
+        return Futures.transform(descriptorResolver.resolve(context), artifactDescriptor -> visit(context, artifactDescriptor),
+            MoreExecutors.directExecutor());
+    }
+
+    private TraversalStep visit(TraversalContext context, ArtifactDescriptorResult artifactDescriptor) {
+        if (artifactDescriptor == null) {
+            throw new NullPointerException("artifactDescriptor");
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            return visitDependencies(context, artifactDescriptor);
+        } finally {
+            statistics.artifactVisited(context, System.nanoTime() - startTime);
+        }
+    }
+
+    private TraversalStep visitDependencies(TraversalContext context, ArtifactDescriptorResult artifactDescriptor) {
+        Set<Dependency> runtimeDependencies = artifactDescriptor.getDependencies().stream().filter(DependencyScopeAnalyzer::dependencyRequiredAtRuntime)
+            .filter(dependency -> !context.isExcluded(dependency)).collect(ImmutableSet.toImmutableSet());
+
+        if (runtimeDependencies.isEmpty()) {
+            return TraversalStep.EMPTY;
+        }
+
+        TraversalContext extendedContext = context.extendManagedDependencyExclusions(artifactDescriptor.getDependencies());
+        Set<DependencyViolation> violations = new HashSet<>();
+        List<TraversalContext> children = new ArrayList<>(runtimeDependencies.size());
+        for (Dependency dependency : runtimeDependencies) {
+            if (extendedContext.isOverriddenToTestScope(dependency)) {
+                DependencyViolation violation = new DependencyViolation(extendedContext, dependency);
+                if (sink.accept(violation)) {
+                    violations.add(violation);
+                }
+            }
+
+            Optional<TraversalContext> subcontext = extendedContext.stepInto(dependency);
+            if (subcontext.isPresent()) {
+                children.add(subcontext.get());
+            } else {
+                log.warn("Could not find project version for dependency " + dependency + ". This is probably a bug in the plugin");
+            }
+        }
+
+        if (sink.isLimitReached()) {
+            return new TraversalStep(violations, ImmutableList.of());
+        }
+
+        // submit all child descriptors as one batch. Prefetching would resolve descriptors outside a traversal budget, so only do it when unlimited.
+        if (!budget.isLimited()) {
+            descriptorResolver.prefetch(children);
+        }
+
+        return new TraversalStep(violations, children);
+    }
+
+    private static boolean dependencyRequiredAtRuntime(Dependency dependency) {
+        if (dependency.isOptional()) {
+            return false;
+        } else {
+            String scope = dependency.getScope();
+            return Artifact.SCOPE_COMPILE.equals(scope) || Artifact.SCOPE_RUNTIME.equals(scope);
+        }
+    }
+
+    static <T> T resolve(ListenableFuture<T> future) throws MojoExecutionException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while checking dependency scopes", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() != null) {
+                Throwables.throwIfInstanceOf(e.getCause(), MojoExecutionException.class);
+            }
+            throw new MojoExecutionException("Error while checking dependency scopes", e);
+        }
+    }
+
+    private static final class TraversalStep {
+
+        private static final TraversalStep EMPTY = new TraversalStep(ImmutableSet.of(), ImmutableList.of());
+
+        private final Set<DependencyViolation> violations;
+        private final List<TraversalContext> children;
+
+        private TraversalStep(Set<DependencyViolation> violations, List<TraversalContext> children) {
+            this.violations = violations;
+            this.children = children;
+        }
+    }
+}
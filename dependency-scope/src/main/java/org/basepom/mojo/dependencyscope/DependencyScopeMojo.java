@@ -14,90 +14,55 @@
 
 package org.basepom.mojo.dependencyscope;
 
-import java.util.ArrayList;
+import org.basepom.mojo.dependencyscope.TraversalBudget.Limit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeSet;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
-import java.util.function.Consumer;
-
-import com.google.common.base.Throwables;
-import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Sets;
-import com.google.common.util.concurrent.FutureCallback;
-import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.ListenableFuture;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
 import com.google.common.util.concurrent.ListeningExecutorService;
-import com.google.common.util.concurrent.MoreExecutors;
-import com.google.common.util.concurrent.SettableFuture;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
-import org.apache.maven.artifact.Artifact;
-import org.apache.maven.execution.MavenSession;
-import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
-import org.apache.maven.project.DefaultProjectBuildingRequest;
 import org.apache.maven.project.MavenProject;
-import org.apache.maven.project.ProjectBuildingRequest;
-import org.apache.maven.shared.dependency.graph.DependencyGraphBuilder;
-import org.apache.maven.shared.dependency.graph.DependencyGraphBuilderException;
 import org.apache.maven.shared.dependency.graph.DependencyNode;
-import org.eclipse.aether.RepositorySystem;
-import org.eclipse.aether.RepositorySystemSession;
-import org.eclipse.aether.artifact.DefaultArtifact;
-import org.eclipse.aether.graph.Dependency;
-import org.eclipse.aether.resolution.ArtifactDescriptorException;
-import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
-import org.eclipse.aether.resolution.ArtifactDescriptorResult;
 
 @Mojo(name = "check", defaultPhase = LifecyclePhase.VALIDATE, requiresDependencyCollection = ResolutionScope.TEST, threadSafe = true)
-public class DependencyScopeMojo extends AbstractMojo {
-
-    @Parameter(defaultValue = "${session}", required = true, readonly = true)
-    public MavenSession session;
+public class DependencyScopeMojo extends AbstractDependencyScopeMojo {
 
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     public MavenProject project;
 
-    @Parameter(defaultValue = "${repositorySystemSession}", required = true, readonly = true)
-    public RepositorySystemSession repositorySystemSession;
-
-    @Parameter(property = "useParallelDependencyResolution", defaultValue = "true")
-    public boolean useParallelDependencyResolution;
+    @Parameter(property = "dependency-scope.incremental", defaultValue = "false")
+    public boolean incremental;
 
-    @Parameter(defaultValue = "false")
-    public boolean linkToDocumentation;
+    @Parameter(defaultValue = "${project.build.directory}/dependency-scope")
+    public File outputDirectory;
 
-    @Parameter(defaultValue = "false")
-    public boolean fail;
+    @Parameter(property = "dependency-scope.report", defaultValue = "NONE")
+    public ReportFormat report;
 
-    @Parameter(defaultValue = "false")
-    public boolean skip;
+    @Parameter(property = "dependency-scope.export-snapshot", defaultValue = "false")
+    public boolean exportSnapshot;
 
-    @Parameter(property = "verbose", defaultValue = "true")
-    public boolean verbose;
+    @Parameter(property = "dependency-scope.stream-violations", defaultValue = "false")
+    public boolean streamViolations;
 
-    @Component
-    public RepositorySystem repositorySystem;
+    @Parameter(property = "dependency-scope.fast", defaultValue = "false")
+    public boolean fast;
 
-    @Component
-    public DependencyGraphBuilder dependencyGraphBuilder;
-
-    private ListeningExecutorService executorService;
-    private Set<String> checkedArtifacts;
+    private TraversalStatistics statistics;
+    private TraversalCache cache;
 
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
@@ -106,254 +71,179 @@ public class DependencyScopeMojo extends AbstractMojo {
             return;
         }
 
-        executorService = newExecutorService();
-        checkedArtifacts = Sets.newConcurrentHashSet();
-
-        DependencyNode node = buildDependencyNode();
-        TraversalContext context = TraversalContext.newContextFor(project, node);
-
-        List<ListenableFuture<Set<DependencyViolation>>> futures = new ArrayList<>();
-        for (DependencyNode dependency : node.getChildren()) {
-            if (!Artifact.SCOPE_TEST.equals(dependency.getArtifact().getScope())) {
-                TraversalContext subcontext = context.stepInto(project, dependency);
+        if (fast) {
+            executeFast();
+            return;
+        }
 
-                futures.add(findViolations(subcontext));
+        DependencyNode node = buildDependencyNode(project);
+
+        Path snapshotFile = outputDirectory.toPath().resolve(DependencySnapshot.FILE_NAME);
+
+        Optional<String> fingerprint = Optional.empty();
+        // an unchanged graph can only be replayed if a requested snapshot exists from a previous run
+        if (incremental && (!exportSnapshot || Files.exists(snapshotFile))) {
+            fingerprint = GraphFingerprint.compute(project, node, pluginDescriptor.getVersion() + ":" + verbose);
+            if (fingerprint.isEmpty()) {
+                getLog().debug("Dependency graph contains snapshots, running full check");
+            } else {
+                Optional<CheckResultFile.CheckResult> previousResult = loadCheckResult(fingerprint.get());
+                if (previousResult.isPresent()) {
+                    getLog().info("Dependency graph is unchanged, reporting result of previous check");
+                    if (report != ReportFormat.NONE) {
+                        // no statistics, nothing was resolved or traversed
+                        writeReport(previousResult.get().getViolations(), 0);
+                    }
+                    reportViolations(previousResult.get().getMessages());
+                    return;
+                }
             }
         }
 
-        Set<DependencyViolation> violations = resolve(Futures.allAsList(futures));
-        executorService.shutdown();
+        statistics = new TraversalStatistics();
+        cache = new TraversalCache();
 
-        if (!violations.isEmpty()) {
-            printViolations(violations);
+        ListeningExecutorService executorService = newExecutorService();
+        DescriptorResolver descriptorResolver = newDescriptorResolver(project.getRemoteProjectRepositories(), executorService, statistics);
+        ViolationSink sink = newViolationSink();
+        DependencyScopeAnalyzer analyzer = newAnalyzer(descriptorResolver, cache, statistics, sink);
+        List<TraversalContext> roots = DependencyScopeAnalyzer.rootContexts(project, node, cache);
 
-            if (fail) {
-                throw new MojoFailureException("Test dependency scope issues found");
-            }
-        } else {
-            getLog().info("No test dependency scope issues found");
+        Set<DependencyViolation> violations;
+        try {
+            violations = analyzer.analyze(roots);
+        } finally {
+            executorService.shutdown();
+            statistics.traversalFinished();
         }
-    }
+        logStatistics(statistics);
 
-    private ListenableFuture<Set<DependencyViolation>> findViolations(TraversalContext context) {
-        final SettableFuture<Set<DependencyViolation>> future = SettableFuture.create();
+        List<String> messages = ViolationFormatter.formatViolations(violations, verbose);
+        List<ViolationReport.Entry> entries = reportEntries(violations);
 
-        if (!checkedArtifacts.add(context.currentArtifact().getId())) {
-            future.set(ImmutableSet.of());
-            return future;
+        SortedMap<String, Limit> skippedArtifacts = analyzer.getSkippedArtifacts();
+        if (report != ReportFormat.NONE) {
+            writeReport(entries, skippedArtifacts.size());
         }
 
-        Futures.addCallback(resolveArtifactDescriptor(context.currentArtifact()), new FutureCallback<>() {
-
-            @Override
-            public void onSuccess(ArtifactDescriptorResult artifactDescriptor) {
-                if (artifactDescriptor == null) {
-                    onFailure(new NullPointerException("artifactDescriptor"));
-                    return;
-                }
-
-                try {
-                    Set<Dependency> runtimeDependencies = artifactDescriptor.getDependencies().stream().filter(DependencyScopeMojo::dependencyRequiredAtRuntime)
-                        .filter(dependency -> !context.isExcluded(dependency)).collect(ImmutableSet.toImmutableSet());
-
-                    if (runtimeDependencies.isEmpty()) {
-                        future.set(ImmutableSet.of());
-                        return;
-                    }
-
-                    TraversalContext temp = context;
-                    TraversalContext context = temp.extendManagedDependencyExclusions(artifactDescriptor.getDependencies());
-                    final Set<DependencyViolation> violations = Sets.newConcurrentHashSet();
-                    final CountDownLatch latch = new CountDownLatch(runtimeDependencies.size());
-                    for (Dependency dependency : runtimeDependencies) {
-                        if (context.isOverriddenToTestScope(dependency)) {
-                            violations.add(new DependencyViolation(context, dependency));
-                        }
-
-                        Optional<TraversalContext> subcontext = context.stepInto(dependency);
-                        if (subcontext.isEmpty()) {
-                            getLog().warn("Could not find project version for dependency " + dependency + ". This is probably a bug in the plugin");
-                        }
-                        ListenableFuture<Set<DependencyViolation>> subfuture =
-                            subcontext.map(DependencyScopeMojo.this::findViolations)
-                                .orElseGet(() -> Futures.immediateFuture(ImmutableSet.of()));
-
-                        Futures.addCallback(subfuture, new FutureCallback<>() {
-
-                            @Override
-                            public void onSuccess(Set<DependencyViolation> result) {
-                                try {
-                                    violations.addAll(result);
-                                } finally {
-                                    latch.countDown();
-                                    if (latch.getCount() == 0) {
-                                        future.set(violations);
-                                    }
-                                }
-                            }
-
-                            @Override
-                            public void onFailure(Throwable t) {
-                                future.setException(t);
-                            }
-                        }, MoreExecutors.directExecutor());
-                    }
-                } catch (Exception e) {
-                    future.setException(e);
-                }
+        if (analyzer.isStopped() || !skippedArtifacts.isEmpty()) {
+            if (analyzer.isStopped()) {
+                reportStopped(sink);
             }
-
-            @Override
-            public void onFailure(Throwable t) {
-                future.setException(t);
+            if (!skippedArtifacts.isEmpty()) {
+                reportSkippedArtifacts(skippedArtifacts);
+            }
+            if (exportSnapshot) {
+                getLog().warn("Not all artifacts were examined, not writing dependency snapshot");
+            }
+        } else {
+            if (exportSnapshot) {
+                writeSnapshot(snapshotFile, node, roots, descriptorResolver);
+            }
+            if (fingerprint.isPresent()) {
+                storeCheckResult(fingerprint.get(), messages, entries);
             }
-        }, MoreExecutors.directExecutor());
+        }
 
-        return future;
+        reportViolations(messages, sink.isStreaming());
     }
 
-    private DependencyNode buildDependencyNode() throws MojoExecutionException {
-        try {
-            ProjectBuildingRequest buildingRequest = new DefaultProjectBuildingRequest(session.getProjectBuildingRequest());
-            buildingRequest.setProject(project);
-
-            return dependencyGraphBuilder.buildDependencyGraph(buildingRequest, artifact ->
-                !Artifact.SCOPE_PROVIDED.equals(artifact.getScope()) && !Artifact.SCOPE_SYSTEM.equals(artifact.getScope()));
-        } catch (DependencyGraphBuilderException e) {
-            throw new MojoExecutionException("Error building dependency graph", e);
+    /**
+     * Checks the project from a single verbose dependency collection. Traversal limits, the incremental check and snapshots need the descriptors of
+     * the regular check and do not apply.
+     */
+    private void executeFast() throws MojoExecutionException, MojoFailureException {
+        if (incremental || exportSnapshot) {
+            getLog().warn("Incremental check and dependency snapshots are not supported in fast mode, ignoring 'incremental' and 'exportSnapshot'");
         }
-    }
-
-    private ListenableFuture<ArtifactDescriptorResult> resolveArtifactDescriptor(final Artifact artifact) {
-        return executorService.submit(() -> {
-            ArtifactDescriptorRequest request = new ArtifactDescriptorRequest(toAether(artifact), project.getRemoteProjectRepositories(), null);
-
-            try {
-                return repositorySystem.readArtifactDescriptor(repositorySystemSession, request);
-            } catch (ArtifactDescriptorException e) {
-                String message = "Error resolving descriptor for artifact " + asString(artifact);
-                throw new MojoExecutionException(message, e);
-            }
-        });
-    }
 
-    private void printViolations(Set<DependencyViolation> violations) {
-        Map<String, Set<DependencyViolation>> violationsByDependency = new HashMap<>();
-        for (DependencyViolation violation : violations) {
-            String key = readableGATC(violation.getDependency());
+        statistics = new TraversalStatistics();
+        cache = new TraversalCache();
 
-            if (!violationsByDependency.containsKey(key)) {
-                violationsByDependency.put(key, new TreeSet<>(artifactNameComparator()));
-            }
+        ViolationSink sink = newViolationSink();
+        CollectedGraphAnalyzer analyzer = new CollectedGraphAnalyzer(repositorySystem, repositorySystemSession, cache, statistics, sink);
 
-            violationsByDependency.get(key).add(violation);
+        Set<DependencyViolation> violations;
+        try {
+            violations = analyzer.analyze(project);
+        } finally {
+            statistics.traversalFinished();
         }
+        logStatistics(statistics);
 
-        Consumer<String> logger = fail ? getLog()::error : getLog()::warn;
-        for (Entry<String, Set<DependencyViolation>> dependencyViolation : violationsByDependency.entrySet()) {
-            logger.accept("Found a problem with test-scoped dependency " + dependencyViolation.getKey());
-            for (DependencyViolation violation : dependencyViolation.getValue()) {
-                logger.accept("Scope " + violation.getDependency().getScope() + " was expected by artifact " + asString(
-                    violation.getSource().currentArtifact()));
-
-                if (verbose) {
-                    logger.accept("");
-                    logger.accept("Dependency chain:");
-                    StringBuilder prefix = new StringBuilder();
-                    boolean first = true;
-                    for (String artifact : violation.getPath()) {
-                        if (first) {
-                            logger.accept(artifact);
-                            first = false;
-                        } else {
-                            logger.accept(prefix + "\\- " + artifact);
-                            prefix.append("   ");
-                        }
-                    }
-                }
-            }
+        if (report != ReportFormat.NONE) {
+            writeReport(reportEntries(violations), 0);
         }
 
-        if (linkToDocumentation) {
-            getLog().info("For information on how to fix these issues, see here:");
-            getLog().info("https://github.com/HubSpot/dependency-scope-maven-plugin#how-to-fix-issues");
+        if (analyzer.isStopped()) {
+            reportStopped(sink);
         }
-    }
 
-    private ListeningExecutorService newExecutorService() {
-        if (useParallelDependencyResolution) {
-            getLog().debug("Using parallel dependency resolution");
-            return MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(Math.min(Runtime.getRuntime().availableProcessors() * 5, 20),
-                new ThreadFactoryBuilder().setNameFormat("dependency-project-builder-%s").setDaemon(true).build()));
-        } else {
-            getLog().debug("Using single-threaded dependency resolution");
-            return MoreExecutors.newDirectExecutorService();
-        }
+        reportViolations(ViolationFormatter.formatViolations(violations, verbose), sink.isStreaming());
     }
 
-    private static boolean dependencyRequiredAtRuntime(Dependency dependency) {
-        if (dependency.isOptional()) {
-            return false;
-        } else {
-            String scope = dependency.getScope();
-            return Artifact.SCOPE_COMPILE.equals(scope) || Artifact.SCOPE_RUNTIME.equals(scope);
-        }
+    private ViolationSink newViolationSink() {
+        return streamViolations ? ViolationSink.streaming(violationLogger(), verbose, violationLimit()) : ViolationSink.counting(violationLimit());
     }
 
-    private static Set<DependencyViolation> resolve(ListenableFuture<List<Set<DependencyViolation>>> future) throws MojoExecutionException {
+    private Optional<CheckResultFile.CheckResult> loadCheckResult(String fingerprint) {
         try {
-            return Sets.newHashSet(Iterables.concat(future.get()));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new MojoExecutionException("Interrupted while checking dependency scopes", e);
-        } catch (ExecutionException e) {
-            if (e.getCause() != null) {
-                Throwables.throwIfInstanceOf(e.getCause(), MojoExecutionException.class);
-            }
-            throw new MojoExecutionException("Error while checking dependency scopes", e);
+            return new CheckResultFile(outputDirectory).load(fingerprint);
+        } catch (IOException e) {
+            getLog().warn("Could not read result of previous check, running full check", e);
+            return Optional.empty();
         }
     }
 
-    private static Comparator<DependencyViolation> artifactNameComparator() {
-        return Comparator.comparing(violation -> asString(violation.getSource().currentArtifact()));
-    }
-
-    private static String readableGATC(Dependency dependency) {
-        org.eclipse.aether.artifact.Artifact artifact = dependency.getArtifact();
-
-        String name = artifact.getGroupId() + ":" + artifact.getArtifactId();
-
-        if (!"jar".equals(artifact.getExtension())) {
-            name += ":" + artifact.getExtension();
-        }
-
-        if (!artifact.getClassifier().isEmpty()) {
-            name += ":" + artifact.getClassifier();
+    private void storeCheckResult(String fingerprint, List<String> messages, List<ViolationReport.Entry> entries) {
+        try {
+            new CheckResultFile(outputDirectory).store(fingerprint, messages, entries);
+        } catch (IOException e) {
+            getLog().warn("Could not store check result", e);
         }
-
-        return name;
     }
 
-    private static String asString(Artifact artifact) {
-        String name = artifact.getGroupId() + ":" + artifact.getArtifactId();
-
-        if (artifact.getType() != null && !"jar".equals(artifact.getType())) {
-            name += ":" + artifact.getType();
+    private void writeSnapshot(Path snapshotFile, DependencyNode node, List<TraversalContext> roots, DescriptorResolver descriptorResolver) {
+        try {
+            DependencySnapshot.capture(project.getId(), node.getArtifact(), roots, descriptorResolver.getResolvedDescriptors()).write(snapshotFile);
+            getLog().info("Wrote dependency snapshot to " + snapshotFile);
+        } catch (IOException e) {
+            getLog().warn("Could not write dependency snapshot to " + snapshotFile, e);
         }
+    }
 
-        if (artifact.getClassifier() != null) {
-            name += ":" + artifact.getClassifier();
+    /**
+     * Returns the location of the project POM relative to the top-level project, with forward slashes.
+     */
+    private String pomLocation() {
+        if (project.getFile() == null) {
+            return "pom.xml";
         }
 
-        // this modifies the artifact internal state :/
-        artifact.isSnapshot();
-        name += ":" + artifact.getBaseVersion();
+        Path basedir = session.getTopLevelProject().getBasedir().toPath().toAbsolutePath();
+        return basedir.relativize(project.getFile().toPath().toAbsolutePath()).toString().replace(File.separatorChar, '/');
+    }
 
-        return name;
+    private static List<ViolationReport.Entry> reportEntries(Set<DependencyViolation> violations) {
+        return violations.stream()
+            .sorted(Comparator.comparing((DependencyViolation violation) -> ViolationFormatter.readableGATC(violation.getDependency()))
+                .thenComparing(ViolationFormatter.artifactNameComparator()))
+            .map(violation -> new ViolationReport.Entry(ViolationFormatter.readableGATC(violation.getDependency()), violation.getDependency().getScope(),
+                ViolationFormatter.asString(violation.getSource().currentArtifact()), violation.getPath()))
+            .collect(Collectors.toList());
     }
 
-    private static org.eclipse.aether.artifact.Artifact toAether(Artifact artifact) {
-        return new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), artifact.getClassifier(), artifact.getType(), artifact.getVersion(), null,
-            artifact.getFile());
+    /**
+     * Writes the report. If the result of a previous check is replayed, no statistics are available and the report contains none.
+     */
+    private void writeReport(List<ViolationReport.Entry> entries, int notExamined) {
+        Path reportFile = outputDirectory.toPath().resolve(report.getFileName());
+        try {
+            new ViolationReport(project.getId(), pomLocation(), pluginDescriptor.getVersion(), fail)
+                .write(reportFile, report, entries, statistics, cache, notExamined);
+            getLog().info("Wrote dependency scope report to " + reportFile);
+        } catch (IOException e) {
+            getLog().warn("Could not write dependency scope report to " + reportFile, e);
+        }
     }
 }
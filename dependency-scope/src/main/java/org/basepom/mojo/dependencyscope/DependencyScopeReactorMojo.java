@@ -0,0 +1,130 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import org.basepom.mojo.dependencyscope.TraversalBudget.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Checks all modules of the reactor in a single execution. Module dependency graphs are built concurrently and all modules share the descriptor
+ * resolvers and the traversal cache, so every artifact descriptor in the reactor is resolved only once. Violations are reported per module.
+ */
+@Mojo(name = "check-reactor", aggregator = true, requiresDependencyCollection = ResolutionScope.TEST, threadSafe = true)
+public class DependencyScopeReactorMojo extends AbstractDependencyScopeMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping plugin execution");
+            return;
+        }
+
+        List<MavenProject> projects = session.getProjects();
+
+        TraversalStatistics statistics = new TraversalStatistics();
+        TraversalCache cache = new TraversalCache();
+        ListeningExecutorService executorService = newExecutorService();
+        ListeningExecutorService moduleExecutorService = newModuleExecutorService(projects.size());
+
+        // modules usually share their repositories, so this normally holds a single resolver
+        Map<List<RemoteRepository>, DescriptorResolver> descriptorResolvers = new ConcurrentHashMap<>();
+
+        List<ModuleResult> results;
+        try {
+            List<ListenableFuture<ModuleResult>> futures = new ArrayList<>(projects.size());
+            for (MavenProject project : projects) {
+                futures.add(moduleExecutorService.submit(() -> {
+                    DescriptorResolver descriptorResolver = descriptorResolvers.computeIfAbsent(project.getRemoteProjectRepositories(),
+                        repositories -> newDescriptorResolver(repositories, executorService, statistics));
+                    ViolationSink sink = ViolationSink.counting(violationLimit());
+                    DependencyScopeAnalyzer analyzer = newAnalyzer(descriptorResolver, cache, statistics, sink);
+
+                    List<String> messages = ViolationFormatter.formatViolations(analyzer.analyze(project, buildDependencyNode(project)), verbose);
+                    return new ModuleResult(project, messages, analyzer.getSkippedArtifacts(), analyzer.isStopped() ? sink : null);
+                }));
+            }
+            results = DependencyScopeAnalyzer.resolve(Futures.allAsList(futures));
+        } finally {
+            moduleExecutorService.shutdown();
+            executorService.shutdown();
+            statistics.traversalFinished();
+        }
+
+        getLog().debug("Checked " + projects.size() + " modules");
+        logStatistics(statistics);
+
+        List<String> messages = new ArrayList<>();
+        for (ModuleResult result : results) {
+            if (!result.skippedArtifacts.isEmpty()) {
+                getLog().warn("In module " + result.project.getId() + ":");
+                reportSkippedArtifacts(result.skippedArtifacts);
+            }
+
+            if (result.stoppedSink != null) {
+                getLog().warn("In module " + result.project.getId() + ":");
+                reportStopped(result.stoppedSink);
+            }
+
+            if (!result.messages.isEmpty()) {
+                messages.add("Test dependency scope issues in module " + result.project.getId() + ":");
+                messages.addAll(result.messages);
+            }
+        }
+
+        reportViolations(messages);
+    }
+
+    private ListeningExecutorService newModuleExecutorService(int moduleCount) {
+        if (useParallelDependencyResolution) {
+            return MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), moduleCount)),
+                new ThreadFactoryBuilder().setNameFormat("dependency-scope-module-%s").setDaemon(true).build()));
+        } else {
+            return MoreExecutors.newDirectExecutorService();
+        }
+    }
+
+    private static final class ModuleResult {
+
+        private final MavenProject project;
+        private final List<String> messages;
+        private final SortedMap<String, Limit> skippedArtifacts;
+        private final ViolationSink stoppedSink;
+
+        private ModuleResult(MavenProject project, List<String> messages, SortedMap<String, Limit> skippedArtifacts, ViolationSink stoppedSink) {
+            this.project = project;
+            this.messages = messages;
+            this.skippedArtifacts = skippedArtifacts;
+            this.stoppedSink = stoppedSink;
+        }
+    }
+}
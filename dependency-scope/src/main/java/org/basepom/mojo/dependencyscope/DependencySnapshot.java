@@ -0,0 +1,288 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Sets;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+
+/**
+ * All inputs of a dependency scope check for a single project: the project context, the contexts of its direct dependencies and every artifact
+ * descriptor that the traversal resolved. A snapshot can be checked again without any repository access.
+ * <p>
+ * Snapshots are stored as a gzip compressed binary file.
+ */
+public final class DependencySnapshot {
+
+    public static final String FILE_NAME = "dependency-scope.snapshot";
+
+    private static final int MAGIC = 0x44534e50;
+    private static final int FORMAT_VERSION = 1;
+
+    private final String projectId;
+    private final Artifact projectArtifact;
+    private final ImmutableList<TraversalContext> roots;
+    private final ImmutableMap<String, ImmutableList<Dependency>> descriptors;
+
+    private final Set<String> missingDescriptors = Sets.newConcurrentHashSet();
+
+    private DependencySnapshot(String projectId, Artifact projectArtifact, ImmutableList<TraversalContext> roots,
+            ImmutableMap<String, ImmutableList<Dependency>> descriptors) {
+        this.projectId = projectId;
+        this.projectArtifact = projectArtifact;
+        this.roots = roots;
+        this.descriptors = descriptors;
+    }
+
+    public static DependencySnapshot capture(String projectId, Artifact projectArtifact, List<TraversalContext> roots,
+            Map<String, ArtifactDescriptorResult> descriptors) {
+        ImmutableMap.Builder<String, ImmutableList<Dependency>> builder = ImmutableMap.builderWithExpectedSize(descriptors.size());
+        descriptors.forEach((id, descriptor) -> builder.put(id, ImmutableList.copyOf(descriptor.getDependencies())));
+
+        return new DependencySnapshot(projectId, projectArtifact, ImmutableList.copyOf(roots), builder.build());
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * Returns the contexts for the direct dependencies of the project.
+     */
+    public List<TraversalContext> getRoots() {
+        return roots;
+    }
+
+    /**
+     * Returns the descriptor of an artifact from the snapshot. An artifact that is not in the snapshot is recorded and treated as having no
+     * dependencies.
+     */
+    public ArtifactDescriptorResult readDescriptor(Artifact artifact) {
+        ArtifactDescriptorResult result = new ArtifactDescriptorResult(new ArtifactDescriptorRequest());
+
+        ImmutableList<Dependency> dependencies = descriptors.get(artifact.getId());
+        if (dependencies == null) {
+            missingDescriptors.add(artifact.getId());
+        } else {
+            result.setDependencies(dependencies);
+        }
+        return result;
+    }
+
+    /**
+     * Returns all artifacts that were requested from this snapshot but had no descriptor.
+     */
+    public ImmutableSortedSet<String> getMissingDescriptors() {
+        return ImmutableSortedSet.copyOf(missingDescriptors);
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path newFile = file.resolveSibling(file.getFileName() + ".new");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(newFile))))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(projectId);
+            writeArtifact(out, projectArtifact);
+
+            // all roots share the project level values
+            TraversalContext first = roots.isEmpty() ? null : roots.get(0);
+
+            Set<String> testScopedArtifacts = first == null ? ImmutableSet.of() : first.testScopedArtifacts();
+            out.writeInt(testScopedArtifacts.size());
+            for (String key : testScopedArtifacts) {
+                out.writeUTF(key);
+            }
+
+            Map<String, String> dependencyVersions = first == null ? ImmutableMap.of() : first.dependencyVersions();
+            out.writeInt(dependencyVersions.size());
+            for (Map.Entry<String, String> entry : dependencyVersions.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeUTF(entry.getValue());
+            }
+
+            Map<String, ImmutableSet<Exclusion>> dependencyManagementExclusions = first == null ? ImmutableMap.of() : first.dependencyManagementExclusions();
+            out.writeInt(dependencyManagementExclusions.size());
+            for (Map.Entry<String, ImmutableSet<Exclusion>> entry : dependencyManagementExclusions.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeExclusions(out, entry.getValue());
+            }
+
+            out.writeInt(roots.size());
+            for (TraversalContext root : roots) {
+                writeArtifact(out, root.currentArtifact());
+                writeExclusions(out, root.exclusions());
+            }
+
+            out.writeInt(descriptors.size());
+            for (Map.Entry<String, ImmutableList<Dependency>> entry : descriptors.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (Dependency dependency : entry.getValue()) {
+                    writeDependency(out, dependency);
+                }
+            }
+        }
+
+        Files.move(newFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static DependencySnapshot read(Path file, TraversalCache cache) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a dependency scope snapshot");
+            }
+            int formatVersion = in.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException(file + " has unsupported snapshot format version " + formatVersion);
+            }
+
+            String projectId = in.readUTF();
+            Artifact projectArtifact = readArtifact(in);
+
+            int count = in.readInt();
+            ImmutableSet.Builder<String> testScopedArtifacts = ImmutableSet.builderWithExpectedSize(count);
+            for (int i = 0; i < count; i++) {
+                testScopedArtifacts.add(in.readUTF());
+            }
+
+            count = in.readInt();
+            ImmutableMap.Builder<String, String> dependencyVersions = ImmutableMap.builderWithExpectedSize(count);
+            for (int i = 0; i < count; i++) {
+                dependencyVersions.put(in.readUTF(), in.readUTF());
+            }
+
+            count = in.readInt();
+            ImmutableMap.Builder<String, ImmutableSet<Exclusion>> dependencyManagementExclusions = ImmutableMap.builderWithExpectedSize(count);
+            for (int i = 0; i < count; i++) {
+                dependencyManagementExclusions.put(in.readUTF(), readExclusions(in));
+            }
+
+            TraversalContext projectContext = TraversalContext.restore(projectArtifact, testScopedArtifacts.build(), dependencyVersions.build(),
+                dependencyManagementExclusions.build(), cache);
+
+            count = in.readInt();
+            ImmutableList.Builder<TraversalContext> roots = ImmutableList.builderWithExpectedSize(count);
+            for (int i = 0; i < count; i++) {
+                Artifact artifact = readArtifact(in);
+                roots.add(projectContext.stepInto(artifact, readExclusions(in)));
+            }
+
+            count = in.readInt();
+            ImmutableMap.Builder<String, ImmutableList<Dependency>> descriptors = ImmutableMap.builderWithExpectedSize(count);
+            for (int i = 0; i < count; i++) {
+                String id = in.readUTF();
+                int dependencyCount = in.readInt();
+                ImmutableList.Builder<Dependency> dependencies = ImmutableList.builderWithExpectedSize(dependencyCount);
+                for (int j = 0; j < dependencyCount; j++) {
+                    dependencies.add(readDependency(in));
+                }
+                descriptors.put(id, dependencies.build());
+            }
+
+            return new DependencySnapshot(projectId, projectArtifact, roots.build(), descriptors.build());
+        }
+    }
+
+    private static void writeArtifact(DataOutputStream out, Artifact artifact) throws IOException {
+        out.writeUTF(artifact.getGroupId());
+        out.writeUTF(artifact.getArtifactId());
+        out.writeUTF(artifact.getType());
+        out.writeUTF(Strings.nullToEmpty(artifact.getClassifier()));
+        out.writeUTF(artifact.getVersion());
+        out.writeUTF(Strings.nullToEmpty(artifact.getScope()));
+        out.writeBoolean(artifact.isOptional());
+    }
+
+    private static Artifact readArtifact(DataInputStream in) throws IOException {
+        String groupId = in.readUTF();
+        String artifactId = in.readUTF();
+        String type = in.readUTF();
+        String classifier = in.readUTF();
+        String version = in.readUTF();
+        String scope = in.readUTF();
+        boolean optional = in.readBoolean();
+
+        return new DefaultArtifact(groupId, artifactId, VersionRange.createFromVersion(version), scope.isEmpty() ? null : scope, type,
+            classifier.isEmpty() ? null : classifier, new DefaultArtifactHandler(type), optional);
+    }
+
+    private static void writeDependency(DataOutputStream out, Dependency dependency) throws IOException {
+        org.eclipse.aether.artifact.Artifact artifact = dependency.getArtifact();
+        out.writeUTF(artifact.getGroupId());
+        out.writeUTF(artifact.getArtifactId());
+        out.writeUTF(artifact.getClassifier());
+        out.writeUTF(artifact.getExtension());
+        out.writeUTF(artifact.getVersion());
+        out.writeUTF(dependency.getScope());
+        out.writeBoolean(dependency.isOptional());
+        writeExclusions(out, dependency.getExclusions());
+    }
+
+    private static Dependency readDependency(DataInputStream in) throws IOException {
+        org.eclipse.aether.artifact.Artifact artifact = new org.eclipse.aether.artifact.DefaultArtifact(in.readUTF(), in.readUTF(), in.readUTF(),
+            in.readUTF(), in.readUTF());
+        String scope = in.readUTF();
+        boolean optional = in.readBoolean();
+
+        return new Dependency(artifact, scope, optional, readExclusions(in));
+    }
+
+    private static void writeExclusions(DataOutputStream out, Collection<Exclusion> exclusions) throws IOException {
+        out.writeInt(exclusions.size());
+        for (Exclusion exclusion : exclusions) {
+            out.writeUTF(exclusion.getGroupId());
+            out.writeUTF(exclusion.getArtifactId());
+            out.writeUTF(exclusion.getClassifier());
+            out.writeUTF(exclusion.getExtension());
+        }
+    }
+
+    private static ImmutableSet<Exclusion> readExclusions(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        ImmutableSet.Builder<Exclusion> exclusions = ImmutableSet.builderWithExpectedSize(count);
+        for (int i = 0; i < count; i++) {
+            exclusions.add(new Exclusion(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF()));
+        }
+        return exclusions.build();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.SettableFuture;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.eclipse.aether.resolution.ArtifactDescriptorException;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+
+/**
+ * Resolves artifact descriptors on an executor. Requests are keyed by the artifact index of the {@link TraversalCache}, and all requests for the same
+ * artifact share a single future, so a descriptor is read at most once, no matter whether the request came from the traversal or from a prefetch.
+ */
+public final class DescriptorResolver {
+
+    /**
+     * Reads the descriptor of a single artifact.
+     */
+    @FunctionalInterface
+    public interface Reader {
+
+        ArtifactDescriptorResult read(Artifact artifact) throws MojoExecutionException;
+    }
+
+    private final Reader reader;
+    private final ListeningExecutorService executorService;
+    private final TraversalStatistics statistics;
+
+    private final ConcurrentMap<Integer, Request> requests = new ConcurrentHashMap<>();
+
+    public DescriptorResolver(RepositorySystem repositorySystem, RepositorySystemSession repositorySystemSession, List<RemoteRepository> repositories,
+            RepositoryThrottle throttle, ListeningExecutorService executorService, TraversalStatistics statistics) {
+        this(artifact -> {
+            try (RepositoryThrottle.Permit permit = throttle.acquire(repositories, statistics)) {
+                return readArtifactDescriptor(repositorySystem, repositorySystemSession, repositories, artifact);
+            }
+        }, executorService, statistics);
+    }
+
+    public DescriptorResolver(Reader reader, ListeningExecutorService executorService, TraversalStatistics statistics) {
+        this.reader = reader;
+        this.executorService = executorService;
+        this.statistics = statistics;
+    }
+
+    /**
+     * Returns the descriptor for the current artifact of a traversal context. If a request for the same artifact is in flight or completed, its
+     * future is returned. The first traversal request for a prefetched artifact is the one that the prefetch was made for; any later request that
+     * joins a request still in flight is counted as coalesced.
+     */
+    public ListenableFuture<ArtifactDescriptorResult> resolve(TraversalContext context) {
+        Request request = requestFor(context);
+        if (!request.claim() && !request.future.isDone()) {
+            statistics.descriptorRequestCoalesced();
+        }
+        return request.future;
+    }
+
+    /**
+     * Submits descriptor requests for the current artifacts of a batch of traversal contexts without waiting for the results.
+     */
+    public void prefetch(Iterable<TraversalContext> contexts) {
+        for (TraversalContext context : contexts) {
+            requestFor(context);
+        }
+    }
+
+    /**
+     * Returns all descriptors that have been resolved successfully so far, keyed by artifact id.
+     */
+    public Map<String, ArtifactDescriptorResult> getResolvedDescriptors() {
+        Map<String, ArtifactDescriptorResult> result = new TreeMap<>();
+        requests.values().forEach(request -> {
+            if (request.future.isDone()) {
+                try {
+                    result.put(request.artifact.getId(), Futures.getDone(request.future));
+                } catch (ExecutionException | CancellationException e) {
+                    // failed descriptors are not part of the result
+                }
+            }
+        });
+        return result;
+    }
+
+    private Request requestFor(TraversalContext context) {
+        Integer index = context.artifactIndex();
+
+        Request request = requests.get(index);
+        if (request != null) {
+            return request;
+        }
+
+        Request newRequest = new Request(context.currentArtifact());
+        request = requests.putIfAbsent(index, newRequest);
+        if (request != null) {
+            return request;
+        }
+
+        newRequest.future.setFuture(executorService.submit(() -> read(newRequest.artifact)));
+        return newRequest;
+    }
+
+    private ArtifactDescriptorResult read(Artifact artifact) throws MojoExecutionException {
+        long startTime = System.nanoTime();
+        try {
+            return reader.read(artifact);
+        } finally {
+            statistics.descriptorResolved(System.nanoTime() - startTime);
+        }
+    }
+
+    private static ArtifactDescriptorResult readArtifactDescriptor(RepositorySystem repositorySystem, RepositorySystemSession repositorySystemSession,
+            List<RemoteRepository> repositories, Artifact artifact) throws MojoExecutionException {
+        ArtifactDescriptorRequest request = new ArtifactDescriptorRequest(toAether(artifact), repositories, null);
+
+        try {
+            return repositorySystem.readArtifactDescriptor(repositorySystemSession, request);
+        } catch (ArtifactDescriptorException e) {
+            String message = "Error resolving descriptor for artifact " + ViolationFormatter.asString(artifact);
+            throw new MojoExecutionException(message, e);
+        }
+    }
+
+    private static org.eclipse.aether.artifact.Artifact toAether(Artifact artifact) {
+        return new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), artifact.getClassifier(), artifact.getType(), artifact.getVersion(), null,
+            artifact.getFile());
+    }
+
+    private static final class Request {
+
+        private final Artifact artifact;
+        private final SettableFuture<ArtifactDescriptorResult> future = SettableFuture.create();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Request(Artifact artifact) {
+            this.artifact = artifact;
+        }
+
+        /**
+         * Returns true for the first traversal request of this descriptor.
+         */
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+
+/**
+ * A set of exclusions, compiled into a lookup structure. Exclusions are indexed by groupId and artifactId, the classifier and extension (which may be
+ * wildcards) are kept in separate buckets for each coordinate. Matchers are immutable and interned through the {@link TraversalCache}, so all traversal
+ * contexts that share the same exclusions also share the same matcher.
+ */
+public final class ExclusionMatcher {
+
+    private static final String WILDCARD = "*";
+
+    private final ImmutableSet<Exclusion> exclusions;
+    private final ImmutableMap<String, ImmutableMap<String, Rule>> rules;
+
+    private ExclusionMatcher(ImmutableSet<Exclusion> exclusions) {
+        this.exclusions = exclusions;
+        this.rules = index(exclusions);
+    }
+
+    public static ExclusionMatcher compile(ImmutableSet<Exclusion> exclusions) {
+        return new ExclusionMatcher(exclusions);
+    }
+
+    public boolean isExcluded(Dependency dependency) {
+        if (exclusions.isEmpty()) {
+            return false;
+        }
+
+        Artifact artifact = dependency.getArtifact();
+
+        ImmutableMap<String, Rule> artifactRules = rules.get(artifact.getGroupId());
+        if (artifactRules == null) {
+            return false;
+        }
+
+        Rule rule = artifactRules.get(artifact.getArtifactId());
+        return rule != null && rule.matches(artifact.getClassifier(), artifact.getExtension());
+    }
+
+    public ImmutableSet<Exclusion> exclusions() {
+        return exclusions;
+    }
+
+    private static ImmutableMap<String, ImmutableMap<String, Rule>> index(Set<Exclusion> exclusions) {
+        Map<String, Map<String, Rule.Builder>> builders = new HashMap<>();
+        for (Exclusion exclusion : exclusions) {
+            builders.computeIfAbsent(exclusion.getGroupId(), k -> new HashMap<>())
+                    .computeIfAbsent(exclusion.getArtifactId(), k -> new Rule.Builder())
+                    .add(exclusion);
+        }
+
+        ImmutableMap.Builder<String, ImmutableMap<String, Rule>> result = ImmutableMap.builderWithExpectedSize(builders.size());
+        builders.forEach((groupId, artifactBuilders) -> {
+            ImmutableMap.Builder<String, Rule> artifactRules = ImmutableMap.builderWithExpectedSize(artifactBuilders.size());
+            artifactBuilders.forEach((artifactId, builder) -> artifactRules.put(artifactId, builder.build()));
+            result.put(groupId, artifactRules.build());
+        });
+
+        return result.build();
+    }
+
+    private static final class Rule {
+
+        private final boolean matchesAll;
+        private final ImmutableSet<String> extensions;
+        private final ImmutableSet<String> classifiers;
+        private final ImmutableSetMultimap<String, String> classifierExtensions;
+
+        private Rule(boolean matchesAll, ImmutableSet<String> extensions, ImmutableSet<String> classifiers,
+                ImmutableSetMultimap<String, String> classifierExtensions) {
+            this.matchesAll = matchesAll;
+            this.extensions = extensions;
+            this.classifiers = classifiers;
+            this.classifierExtensions = classifierExtensions;
+        }
+
+        boolean matches(String classifier, String extension) {
+            return matchesAll
+                    || extensions.contains(extension)
+                    || classifiers.contains(classifier)
+                    || classifierExtensions.containsEntry(classifier, extension);
+        }
+
+        private static final class Builder {
+
+            private boolean matchesAll;
+            private final ImmutableSet.Builder<String> extensions = ImmutableSet.builder();
+            private final ImmutableSet.Builder<String> classifiers = ImmutableSet.builder();
+            private final ImmutableSetMultimap.Builder<String, String> classifierExtensions = ImmutableSetMultimap.builder();
+
+            void add(Exclusion exclusion) {
+                boolean anyClassifier = WILDCARD.equals(exclusion.getClassifier());
+                boolean anyExtension = WILDCARD.equals(exclusion.getExtension());
+
+                if (anyClassifier && anyExtension) {
+                    matchesAll = true;
+                } else if (anyClassifier) {
+                    extensions.add(exclusion.getExtension());
+                } else if (anyExtension) {
+                    classifiers.add(exclusion.getClassifier());
+                } else {
+                    classifierExtensions.put(exclusion.getClassifier(), exclusion.getExtension());
+                }
+            }
+
+            Rule build() {
+                return new Rule(matchesAll, extensions.build(), classifiers.build(), classifierExtensions.build());
+            }
+        }
+    }
+}
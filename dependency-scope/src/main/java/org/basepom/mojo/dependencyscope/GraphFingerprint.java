@@ -0,0 +1,133 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+
+/**
+ * Computes a fingerprint over all inputs of a dependency scope check: the resolved dependency tree with scopes, versions and exclusions, the project
+ * artifacts, the exclusions of the declared dependencies and the exclusions from dependency management.
+ * <p>
+ * The descriptors of released artifacts never change, so if the fingerprint is unchanged, the result of the check is unchanged as well. This does not
+ * hold for snapshots, so no fingerprint is computed if the graph contains any snapshot dependency.
+ */
+public final class GraphFingerprint {
+
+    private static final Comparator<Artifact> ARTIFACT_ORDER = Comparator.comparing(Artifact::getDependencyConflictId);
+    private static final Comparator<Exclusion> EXCLUSION_ORDER = Comparator.comparing(Exclusion::getGroupId).thenComparing(Exclusion::getArtifactId);
+
+    private GraphFingerprint() {
+        throw new AssertionError("GraphFingerprint can not be instantiated");
+    }
+
+    /**
+     * Computes the fingerprint for a project and its dependency graph. The configuration string must contain the plugin version and any setting that
+     * changes the reported messages.
+     */
+    public static Optional<String> compute(MavenProject project, DependencyNode node, String configuration) {
+        // the project itself may be a snapshot, only its dependencies matter
+        if (node.getChildren().stream().anyMatch(GraphFingerprint::containsSnapshot) || project.getArtifacts().stream().anyMatch(Artifact::isSnapshot)) {
+            return Optional.empty();
+        }
+
+        Hasher hasher = Hashing.sha256().newHasher();
+        putString(hasher, configuration);
+
+        putNode(hasher, node);
+
+        project.getArtifacts().stream().sorted(ARTIFACT_ORDER).forEach(artifact -> {
+            putString(hasher, artifact.getDependencyConflictId());
+            putString(hasher, artifact.getBaseVersion());
+        });
+
+        for (Dependency dependency : project.getDependencies()) {
+            putString(hasher, dependency.getManagementKey());
+            putExclusions(hasher, dependency.getExclusions());
+        }
+
+        if (project.getDependencyManagement() != null) {
+            for (Dependency dependency : project.getDependencyManagement().getDependencies()) {
+                putString(hasher, dependency.getManagementKey());
+                putExclusions(hasher, dependency.getExclusions());
+            }
+        }
+
+        return Optional.of(hasher.hash().toString());
+    }
+
+    private static boolean containsSnapshot(DependencyNode node) {
+        if (node.getArtifact().isSnapshot()) {
+            return true;
+        }
+
+        for (DependencyNode child : node.getChildren()) {
+            if (containsSnapshot(child)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static void putNode(Hasher hasher, DependencyNode node) {
+        Artifact artifact = node.getArtifact();
+
+        putString(hasher, artifact.getDependencyConflictId());
+        putString(hasher, artifact.getBaseVersion());
+        putString(hasher, artifact.getScope());
+        putString(hasher, node.getPremanagedVersion());
+        putString(hasher, node.getPremanagedScope());
+        hasher.putBoolean(Boolean.TRUE.equals(node.getOptional()));
+        putExclusions(hasher, node.getExclusions());
+
+        // bracket the children to keep the tree structure
+        hasher.putInt(node.getChildren().size());
+        for (DependencyNode child : node.getChildren()) {
+            putNode(hasher, child);
+        }
+    }
+
+    private static void putExclusions(Hasher hasher, List<Exclusion> exclusions) {
+        if (exclusions == null) {
+            hasher.putInt(0);
+            return;
+        }
+
+        hasher.putInt(exclusions.size());
+        exclusions.stream().sorted(EXCLUSION_ORDER).forEach(exclusion -> {
+            putString(hasher, exclusion.getGroupId());
+            putString(hasher, exclusion.getArtifactId());
+        });
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        if (value == null) {
+            hasher.putInt(-1);
+        } else {
+            hasher.putInt(value.length());
+            hasher.putUnencodedChars(value);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+/**
+ * Format of the structured violation report.
+ */
+public enum ReportFormat {
+    /**
+     * Do not write a report.
+     */
+    NONE(null),
+
+    /**
+     * Write violations and run statistics as plain JSON.
+     */
+    JSON("dependency-scope.json"),
+
+    /**
+     * Write violations as a SARIF 2.1.0 log. Run statistics are stored in the run properties.
+     */
+    SARIF("dependency-scope.sarif");
+
+    private final String fileName;
+
+    ReportFormat(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+}
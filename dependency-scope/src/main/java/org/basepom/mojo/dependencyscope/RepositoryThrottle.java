@@ -0,0 +1,141 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.RateLimiter;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.SessionData;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Limits descriptor resolution per remote repository for a whole build session, no matter how many modules run the plugin in parallel. Each
+ * repository has a fair concurrency limit and a token bucket for the request rate. A limit of zero or less means "unlimited".
+ */
+public final class RepositoryThrottle {
+
+    private static final String SESSION_KEY = RepositoryThrottle.class.getName();
+
+    private static final Permit NO_PERMIT = () -> {};
+
+    /**
+     * Permission to send a descriptor request to a set of repositories. Must be closed when the request has finished.
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    private final int maxConcurrentRequests;
+    private final int requestsPerSecond;
+
+    private final ConcurrentMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    private RepositoryThrottle(int maxConcurrentRequests, int requestsPerSecond) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    /**
+     * Returns the throttle of the build session. The first plugin execution in the session determines the limits.
+     */
+    public static RepositoryThrottle forSession(RepositorySystemSession session, int maxConcurrentRequests, int requestsPerSecond) {
+        SessionData data = session.getData();
+        while (true) {
+            Object existing = data.get(SESSION_KEY);
+            if (existing instanceof RepositoryThrottle) {
+                return (RepositoryThrottle) existing;
+            } else if (existing != null) {
+                // stored by a different plugin version with its own class loader, can not be shared
+                return new RepositoryThrottle(maxConcurrentRequests, requestsPerSecond);
+            }
+
+            RepositoryThrottle throttle = new RepositoryThrottle(maxConcurrentRequests, requestsPerSecond);
+            if (data.set(SESSION_KEY, null, throttle)) {
+                return throttle;
+            }
+        }
+    }
+
+    public boolean isLimited() {
+        return maxConcurrentRequests > 0 || requestsPerSecond > 0;
+    }
+
+    /**
+     * Waits until a request may be sent to all of the given repositories. The time spent waiting is recorded in the statistics.
+     */
+    public Permit acquire(List<RemoteRepository> repositories, TraversalStatistics statistics) throws MojoExecutionException {
+        if (!isLimited()) {
+            return NO_PERMIT;
+        }
+
+        // always acquire in url order, so that concurrent requests for overlapping repositories can not deadlock
+        List<Limiter> requestLimiters = repositories.stream().map(RemoteRepository::getUrl).distinct().sorted()
+            .map(url -> limiters.computeIfAbsent(url, k -> new Limiter()))
+            .collect(ImmutableList.toImmutableList());
+
+        long startTime = System.nanoTime();
+        int acquired = 0;
+        try {
+            for (Limiter limiter : requestLimiters) {
+                limiter.acquire();
+                acquired++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(requestLimiters, acquired);
+            throw new MojoExecutionException("Interrupted while waiting to resolve descriptors", e);
+        } finally {
+            statistics.descriptorRequestQueued(System.nanoTime() - startTime);
+        }
+
+        return () -> release(requestLimiters, requestLimiters.size());
+    }
+
+    private static void release(List<Limiter> limiters, int count) {
+        for (int i = 0; i < count; i++) {
+            limiters.get(i).release();
+        }
+    }
+
+    private final class Limiter {
+
+        private final Semaphore semaphore = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests, true) : null;
+        private final RateLimiter rateLimiter = requestsPerSecond > 0 ? RateLimiter.create(requestsPerSecond) : null;
+
+        private void acquire() throws InterruptedException {
+            if (semaphore != null) {
+                semaphore.acquire();
+            }
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+        }
+
+        private void release() {
+            if (semaphore != null) {
+                semaphore.release();
+            }
+        }
+    }
+}
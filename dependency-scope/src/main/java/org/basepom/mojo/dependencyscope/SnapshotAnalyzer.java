@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+/**
+ * Checks dependency scopes from snapshots written by the <code>check</code> goal with <code>exportSnapshot</code> enabled. Does not access any
+ * repository, so the snapshots of many projects can be checked again offline. Used by the <code>check-snapshots</code> goal.
+ */
+public final class SnapshotAnalyzer {
+
+    private SnapshotAnalyzer() {
+        throw new AssertionError("SnapshotAnalyzer can not be instantiated");
+    }
+
+    /**
+     * Checks a single snapshot and returns the messages for all violations.
+     */
+    public static List<String> analyze(Path file, Log log) throws IOException, MojoExecutionException {
+        TraversalStatistics statistics = new TraversalStatistics();
+        TraversalCache cache = new TraversalCache();
+        DependencySnapshot snapshot = DependencySnapshot.read(file, cache);
+
+        // descriptors are in memory, so the traversal runs on the calling thread
+        DependencyScopeAnalyzer analyzer = new DependencyScopeAnalyzer(
+            new DescriptorResolver(snapshot::readDescriptor, MoreExecutors.newDirectExecutorService(), statistics), cache, statistics,
+            new TraversalBudget(0, 0, 0), TraversalMode.DEPTH_FIRST, ViolationSink.counting(0), log);
+
+        List<String> violations = ViolationFormatter.formatViolations(analyzer.analyze(snapshot.getRoots()), true);
+
+        for (String artifact : snapshot.getMissingDescriptors()) {
+            log.warn("Descriptor for " + artifact + " is not in snapshot " + file + ", its dependencies were not examined");
+        }
+
+        List<String> messages = new ArrayList<>();
+        if (!violations.isEmpty()) {
+            messages.add("Test dependency scope issues in " + snapshot.getProjectId() + ":");
+            messages.addAll(violations);
+        }
+        return messages;
+    }
+
+    /**
+     * Returns the snapshot files for a list of files and directories. Directories are searched for snapshot files.
+     */
+    public static List<Path> findSnapshots(List<Path> paths) throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> files = Files.walk(path)) {
+                    snapshots.addAll(files.filter(file -> file.getFileName().toString().equals(DependencySnapshot.FILE_NAME)).sorted()
+                        .collect(Collectors.toList()));
+                }
+            } else {
+                snapshots.add(path);
+            }
+        }
+        return snapshots;
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits for the dependency graph traversal. Keeps track of all artifacts that were not examined because a limit was reached. A limit of zero or less
+ * means "unlimited".
+ */
+public final class TraversalBudget {
+
+    public enum Limit {
+        DEPTH("maximum depth"),
+        RESOLUTIONS("maximum number of descriptor resolutions"),
+        TIMEOUT("timeout");
+
+        private final String description;
+
+        Limit(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private final int maxDepth;
+    private final int maxResolutions;
+    private final long deadline;
+    private final boolean hasDeadline;
+
+    private final AtomicInteger resolutions = new AtomicInteger();
+    private final ConcurrentMap<Integer, String> tooDeepArtifacts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Limit> unresolvedArtifacts = new ConcurrentHashMap<>();
+
+    public TraversalBudget(int maxDepth, int maxResolutions, int timeoutSeconds) {
+        this.maxDepth = maxDepth;
+        this.maxResolutions = maxResolutions;
+        this.hasDeadline = timeoutSeconds > 0;
+        this.deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(timeoutSeconds, 0));
+    }
+
+    /**
+     * Returns true if any limit is set.
+     */
+    public boolean isLimited() {
+        return maxDepth > 0 || maxResolutions > 0 || hasDeadline;
+    }
+
+    /**
+     * Returns true if the descriptor for the current artifact of the context is within the maximum depth.
+     */
+    public boolean withinDepth(TraversalContext context) {
+        if (maxDepth > 0 && depth(context) > maxDepth) {
+            tooDeepArtifacts.putIfAbsent(context.artifactIndex(), context.currentArtifact().getId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Acquires a descriptor resolution for the current artifact of the context. Returns false if the resolution limit or the timeout has been
+     * reached.
+     */
+    public boolean tryResolve(TraversalContext context) {
+        if (hasDeadline && System.nanoTime() - deadline > 0) {
+            unresolvedArtifacts.putIfAbsent(context.currentArtifact().getId(), Limit.TIMEOUT);
+            return false;
+        }
+
+        if (maxResolutions > 0 && resolutions.incrementAndGet() > maxResolutions) {
+            unresolvedArtifacts.putIfAbsent(context.currentArtifact().getId(), Limit.RESOLUTIONS);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns all artifacts that were not examined, ordered by name. The checked artifacts are the indexes of all artifacts that passed the depth
+     * check. Artifacts that were too deep on one path but were checked through another path are not reported.
+     */
+    public SortedMap<String, Limit> getSkippedArtifacts(AtomicBitSet checkedArtifacts) {
+        SortedMap<String, Limit> result = new TreeMap<>(unresolvedArtifacts);
+        tooDeepArtifacts.forEach((index, artifact) -> {
+            if (!checkedArtifacts.get(index)) {
+                result.put(artifact, Limit.DEPTH);
+            }
+        });
+        return result;
+    }
+
+    private static int depth(TraversalContext context) {
+        return context.path().size() - 1;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.ArtifactHandler;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+
+/**
+ * Interning tables that are shared by all traversal contexts of a single plugin execution. Hands out canonical artifact keys, Maven artifacts and
+ * exclusion matchers so that the traversal does not allocate new objects for coordinates that it has already seen.
+ */
+public final class TraversalCache {
+
+    private final ExclusionMatcher emptyExclusions = ExclusionMatcher.compile(ImmutableSet.of());
+    private final ConcurrentMap<ImmutableSet<Exclusion>, ExclusionMatcher> exclusionMatchers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<String, ArtifactKey[]>> artifactKeys = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ArtifactKey, ConcurrentMap<String, ConcurrentMap<String, Artifact>>> artifacts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ArtifactKey, ConcurrentMap<String, ConcurrentMap<String, Artifact>>> optionalArtifacts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ArtifactHandler> artifactHandlers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<ArtifactKey, ConcurrentMap<String, Integer>> artifactIndexes = new ConcurrentHashMap<>();
+    private final AtomicInteger nextArtifactIndex = new AtomicInteger();
+
+    private final LongAdder keysReused = new LongAdder();
+    private final LongAdder keysCreated = new LongAdder();
+
+    /**
+     * Returns the canonical key for the coordinates of an artifact.
+     */
+    public ArtifactKey keyFor(org.eclipse.aether.artifact.Artifact artifact) {
+        return intern(artifact.getGroupId(), artifact.getArtifactId(), artifact.getExtension(), artifact.getClassifier());
+    }
+
+    /**
+     * Returns the canonical key for the coordinates of a Maven artifact. The artifact type is used as extension.
+     */
+    public ArtifactKey keyFor(Artifact artifact) {
+        return intern(artifact.getGroupId(), artifact.getArtifactId(), artifact.getType(), Strings.nullToEmpty(artifact.getClassifier()));
+    }
+
+    /**
+     * Looks up keys by their fields, so that coordinates that have been seen before do not allocate anything. Almost all artifacts have only one
+     * or two extension and classifier combinations, so these are kept in a small array that is replaced when a key is added.
+     */
+    private ArtifactKey intern(String groupId, String artifactId, String extension, String classifier) {
+        ConcurrentMap<String, ArtifactKey[]> artifactIds = artifactKeys.get(groupId);
+        if (artifactIds == null) {
+            artifactIds = artifactKeys.computeIfAbsent(groupId, k -> new ConcurrentHashMap<>());
+        }
+
+        ArtifactKey[] keys = artifactIds.get(artifactId);
+        ArtifactKey key = keys == null ? null : find(keys, extension, classifier);
+        if (key != null) {
+            keysReused.increment();
+            return key;
+        }
+
+        keys = artifactIds.compute(artifactId, (k, existing) -> {
+            if (existing != null && find(existing, extension, classifier) != null) {
+                return existing;
+            }
+
+            keysCreated.increment();
+            ArtifactKey newKey = new ArtifactKey(groupId, artifactId, extension, classifier);
+            if (existing == null) {
+                return new ArtifactKey[] {newKey};
+            }
+
+            ArtifactKey[] updated = Arrays.copyOf(existing, existing.length + 1);
+            updated[existing.length] = newKey;
+            return updated;
+        });
+
+        return find(keys, extension, classifier);
+    }
+
+    private static ArtifactKey find(ArtifactKey[] keys, String extension, String classifier) {
+        for (ArtifactKey key : keys) {
+            if (key.getExtension().equals(extension) && key.getClassifier().equals(classifier)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a dense index for an artifact version. Indexes start at zero and are never reused, so they can be used for bit sets.
+     */
+    public int indexFor(ArtifactKey key, String version) {
+        ConcurrentMap<String, Integer> versions = artifactIndexes.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+
+        Integer index = versions.get(version);
+        if (index == null) {
+            index = versions.computeIfAbsent(version, v -> nextArtifactIndex.getAndIncrement());
+        }
+        return index;
+    }
+
+    /**
+     * Returns a Maven artifact for the given dependency with its version replaced. Artifacts are shared by all dependencies with the same
+     * coordinates, scope and optional flag and must not be modified by the caller.
+     */
+    public Artifact artifactFor(Dependency dependency, String version) {
+        ArtifactKey key = keyFor(dependency.getArtifact());
+        String scope = dependency.getScope();
+
+        ConcurrentMap<String, Artifact> versions = (dependency.isOptional() ? optionalArtifacts : artifacts).computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(scope, k -> new ConcurrentHashMap<>());
+
+        Artifact artifact = versions.get(version);
+        if (artifact == null) {
+            artifact = new DefaultArtifact(key.getGroupId(), key.getArtifactId(), VersionRange.createFromVersion(version), scope, key.getExtension(),
+                    key.getClassifier().isEmpty() ? null : key.getClassifier(), handlerFor(key.getExtension()), dependency.isOptional());
+            Artifact existing = versions.putIfAbsent(version, artifact);
+            if (existing != null) {
+                artifact = existing;
+            }
+        }
+
+        return artifact;
+    }
+
+    public ExclusionMatcher emptyExclusions() {
+        return emptyExclusions;
+    }
+
+    /**
+     * Returns a matcher for the union of the exclusions of an existing matcher and additional exclusions.
+     */
+    public ExclusionMatcher union(ExclusionMatcher matcher, Set<Exclusion> additionalExclusions) {
+        if (matcher.exclusions().containsAll(additionalExclusions)) {
+            return matcher;
+        }
+
+        ImmutableSet<Exclusion> exclusions = ImmutableSet.<Exclusion>builderWithExpectedSize(matcher.exclusions().size() + additionalExclusions.size())
+                .addAll(matcher.exclusions())
+                .addAll(additionalExclusions)
+                .build();
+
+        return exclusionMatchers.computeIfAbsent(exclusions, ExclusionMatcher::compile);
+    }
+
+    /**
+     * Number of artifact key lookups that returned an existing key.
+     */
+    public long getKeysReused() {
+        return keysReused.sum();
+    }
+
+    /**
+     * Number of artifact key lookups that created a new key.
+     */
+    public long getKeysCreated() {
+        return keysCreated.sum();
+    }
+
+    private ArtifactHandler handlerFor(String extension) {
+        return artifactHandlers.computeIfAbsent(extension, DefaultArtifactHandler::new);
+    }
+}
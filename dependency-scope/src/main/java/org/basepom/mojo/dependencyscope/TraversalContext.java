@@ -25,9 +25,6 @@ import com.google.common.collect.MapDifference;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.maven.artifact.Artifact;
-import org.apache.maven.artifact.DefaultArtifact;
-import org.apache.maven.artifact.handler.DefaultArtifactHandler;
-import org.apache.maven.artifact.versioning.VersionRange;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.shared.dependency.graph.DependencyNode;
 import org.eclipse.aether.graph.Dependency;
@@ -38,24 +35,32 @@ public final class TraversalContext {
     private static final String WILDCARD = "*";
 
     private final Artifact artifact;
+    private final int artifactIndex;
     private final ImmutableList<Artifact> path;
     private final ImmutableSet<String> testScopedArtifacts;
     private final ImmutableMap<String, String> dependencyVersions;
-    private final ImmutableSet<Exclusion> exclusions;
+    private final ExclusionMatcher exclusions;
     private final ImmutableMap<String, ImmutableSet<Exclusion>> dependencyManagementExclusions;
+    private final TraversalCache cache;
 
-    private TraversalContext(Artifact artifact, ImmutableList<Artifact> path, ImmutableSet<String> testScopedArtifacts,
-            ImmutableMap<String, String> dependencyVersions, ImmutableSet<Exclusion> exclusions,
-            ImmutableMap<String, ImmutableSet<Exclusion>> dependencyManagementExclusions) {
+    private TraversalContext(Artifact artifact, int artifactIndex, ImmutableList<Artifact> path, ImmutableSet<String> testScopedArtifacts,
+            ImmutableMap<String, String> dependencyVersions, ExclusionMatcher exclusions,
+            ImmutableMap<String, ImmutableSet<Exclusion>> dependencyManagementExclusions, TraversalCache cache) {
         this.artifact = artifact;
+        this.artifactIndex = artifactIndex;
         this.path = path;
         this.testScopedArtifacts = testScopedArtifacts;
         this.dependencyVersions = dependencyVersions;
         this.exclusions = exclusions;
         this.dependencyManagementExclusions = dependencyManagementExclusions;
+        this.cache = cache;
     }
 
     public static TraversalContext newContextFor(MavenProject project, DependencyNode node) {
+        return newContextFor(project, node, new TraversalCache());
+    }
+
+    public static TraversalContext newContextFor(MavenProject project, DependencyNode node, TraversalCache cache) {
         ImmutableSet<String> testScopedArtifacts = node.getChildren().stream()
                 .filter(dependency -> Artifact.SCOPE_TEST.equals(dependency.getArtifact().getScope()))
                 .map(dependency -> dependency.getArtifact().getDependencyConflictId()).collect(ImmutableSet.toImmutableSet());
@@ -71,8 +76,17 @@ public final class TraversalContext {
                     .collect(ImmutableMap.toImmutableMap(org.apache.maven.model.Dependency::getManagementKey, TraversalContext::exclusions));
         }
 
-        return new TraversalContext(node.getArtifact(), ImmutableList.of(node.getArtifact()), testScopedArtifacts, dependencyVersions, ImmutableSet.of(),
-                dependencyManagementExclusions);
+        return new TraversalContext(node.getArtifact(), indexFor(node.getArtifact(), cache), ImmutableList.of(node.getArtifact()), testScopedArtifacts,
+                dependencyVersions, cache.emptyExclusions(), dependencyManagementExclusions, cache);
+    }
+
+    /**
+     * Creates a project context from previously captured values, e.g. from a {@link DependencySnapshot}.
+     */
+    public static TraversalContext restore(Artifact artifact, ImmutableSet<String> testScopedArtifacts, ImmutableMap<String, String> dependencyVersions,
+            ImmutableMap<String, ImmutableSet<Exclusion>> dependencyManagementExclusions, TraversalCache cache) {
+        return new TraversalContext(artifact, indexFor(artifact, cache), ImmutableList.of(artifact), testScopedArtifacts, dependencyVersions,
+                cache.emptyExclusions(), dependencyManagementExclusions, cache);
     }
 
     public TraversalContext extendManagedDependencyExclusions(List<Dependency> dependencies) {
@@ -81,41 +95,43 @@ public final class TraversalContext {
         }
 
         ImmutableMap<String, ImmutableSet<Exclusion>> newExclusions = dependencies.stream().filter(dependency -> !dependency.getExclusions().isEmpty())
-                .collect(ImmutableMap.toImmutableMap(TraversalContext::computeDependencyKey, dependency -> ImmutableSet.copyOf(dependency.getExclusions())));
+                .collect(ImmutableMap.toImmutableMap(this::computeDependencyKey, dependency -> ImmutableSet.copyOf(dependency.getExclusions())));
 
         ImmutableMap<String, ImmutableSet<Exclusion>> mergedExclusions = merge(dependencyManagementExclusions, newExclusions);
 
-        return new TraversalContext(artifact, path, testScopedArtifacts, dependencyVersions, exclusions, mergedExclusions);
+        return new TraversalContext(artifact, artifactIndex, path, testScopedArtifacts, dependencyVersions, exclusions, mergedExclusions, cache);
     }
 
     public TraversalContext stepInto(MavenProject project, DependencyNode node) {
         String artifactKey = node.getArtifact().getDependencyConflictId();
 
-        ImmutableList<Artifact> path = ImmutableList.<Artifact>builderWithExpectedSize(this.path.size() + 1).addAll(this.path).add(node.getArtifact()).build();
-
-        Set<Exclusion> exclusions = this.exclusions;
-        if (dependencyManagementExclusions.containsKey(artifactKey)) {
-            Set<Exclusion> toAdd = dependencyManagementExclusions.get(artifactKey);
-            assert toAdd != null;
-
-            exclusions = Sets.union(exclusions, toAdd);
-        }
+        Set<Exclusion> toAdd = dependencyManagementExclusions.getOrDefault(artifactKey, ImmutableSet.of());
 
         for (org.apache.maven.model.Dependency dependency : project.getDependencies()) {
             if (artifactKey.equals(dependency.getManagementKey())) {
                 if (!dependency.getExclusions().isEmpty()) {
-                    exclusions = Sets.union(exclusions, exclusions(dependency));
+                    toAdd = Sets.union(toAdd, exclusions(dependency));
                 }
             }
         }
 
-        return new TraversalContext(node.getArtifact(), path, testScopedArtifacts, dependencyVersions, ImmutableSet.copyOf(exclusions),
-                dependencyManagementExclusions);
+        return stepInto(node.getArtifact(), toAdd);
+    }
+
+    /**
+     * Steps into a direct dependency of the project that is excluding the given artifacts.
+     */
+    public TraversalContext stepInto(Artifact artifact, Set<Exclusion> additionalExclusions) {
+        ImmutableList<Artifact> path = ImmutableList.<Artifact>builderWithExpectedSize(this.path.size() + 1).addAll(this.path).add(artifact).build();
+
+        return new TraversalContext(artifact, indexFor(artifact, cache), path, testScopedArtifacts, dependencyVersions,
+                cache.union(exclusions, additionalExclusions), dependencyManagementExclusions, cache);
     }
 
     public Optional<TraversalContext> stepInto(Dependency dependency) {
-        Artifact artifact = fromAether(dependency);
-        String projectVersion = dependencyVersions.get(artifact.getDependencyConflictId());
+        ArtifactKey key = cache.keyFor(dependency.getArtifact());
+        String artifactKey = key.getDependencyKey();
+        String projectVersion = dependencyVersions.get(artifactKey);
 
         if (projectVersion == null) {
             /*
@@ -124,29 +140,22 @@ public final class TraversalContext {
             return Optional.empty();
         }
 
-        artifact = withVersion(artifact, projectVersion);
+        Artifact artifact = cache.artifactFor(dependency, projectVersion);
 
         ImmutableList<Artifact> path = ImmutableList.<Artifact>builderWithExpectedSize(this.path.size() + 1).addAll(this.path).add(artifact).build();
 
-        ImmutableSet<Exclusion> exclusions = this.exclusions;
-        if (dependencyManagementExclusions.containsKey(artifact.getDependencyConflictId())) {
-            Set<Exclusion> toAdd = dependencyManagementExclusions.get(artifact.getDependencyConflictId());
-            assert toAdd != null;
-
-            exclusions = Sets.union(exclusions, toAdd).immutableCopy();
+        ExclusionMatcher exclusions = this.exclusions;
+        Set<Exclusion> toAdd = dependencyManagementExclusions.get(artifactKey);
+        if (toAdd != null) {
+            exclusions = cache.union(exclusions, toAdd);
         }
 
-        return Optional.of(new TraversalContext(artifact, path, testScopedArtifacts, dependencyVersions, exclusions, dependencyManagementExclusions));
+        return Optional.of(new TraversalContext(artifact, cache.indexFor(key, projectVersion), path, testScopedArtifacts, dependencyVersions, exclusions,
+                dependencyManagementExclusions, cache));
     }
 
     public boolean isExcluded(Dependency dependency) {
-        for (Exclusion exclusion : exclusions) {
-            if (matches(dependency, exclusion)) {
-                return true;
-            }
-        }
-
-        return false;
+        return exclusions.isExcluded(dependency);
     }
 
     public boolean isOverriddenToTestScope(Dependency dependency) {
@@ -157,16 +166,31 @@ public final class TraversalContext {
         return artifact;
     }
 
+    /**
+     * Dense index of the current artifact, unique for its coordinates and version within the traversal cache.
+     */
+    public int artifactIndex() {
+        return artifactIndex;
+    }
+
     public List<Artifact> path() {
         return path;
     }
 
-    private static boolean matches(Dependency dependency, Exclusion exclusion) {
-        org.eclipse.aether.artifact.Artifact artifact = dependency.getArtifact();
+    ImmutableSet<String> testScopedArtifacts() {
+        return testScopedArtifacts;
+    }
+
+    ImmutableMap<String, String> dependencyVersions() {
+        return dependencyVersions;
+    }
+
+    ImmutableMap<String, ImmutableSet<Exclusion>> dependencyManagementExclusions() {
+        return dependencyManagementExclusions;
+    }
 
-        return artifact.getGroupId().equals(exclusion.getGroupId()) && artifact.getArtifactId().equals(exclusion.getArtifactId()) && (
-                WILDCARD.equals(exclusion.getClassifier()) || artifact.getClassifier().equals(exclusion.getClassifier())) && (
-                WILDCARD.equals(exclusion.getExtension()) || artifact.getExtension().equals(exclusion.getExtension()));
+    ImmutableSet<Exclusion> exclusions() {
+        return exclusions.exclusions();
     }
 
     private static ImmutableMap<String, ImmutableSet<Exclusion>> merge(ImmutableMap<String, ImmutableSet<Exclusion>> a,
@@ -192,29 +216,11 @@ public final class TraversalContext {
                 .collect(ImmutableSet.toImmutableSet());
     }
 
-    private static Artifact fromAether(Dependency dependency) {
-        org.eclipse.aether.artifact.Artifact artifact = dependency.getArtifact();
-
-        return new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), VersionRange.createFromVersion(artifact.getVersion()),
-                dependency.getScope(), artifact.getExtension(), artifact.getClassifier().isEmpty() ? null : artifact.getClassifier(),
-                new DefaultArtifactHandler(artifact.getExtension()), dependency.isOptional());
-    }
-
-    private static Artifact withVersion(Artifact artifact, String version) {
-        return new DefaultArtifact(artifact.getGroupId(), artifact.getArtifactId(), VersionRange.createFromVersion(version), artifact.getScope(),
-                artifact.getType(), artifact.getClassifier(), artifact.getArtifactHandler(), artifact.isOptional());
+    private static int indexFor(Artifact artifact, TraversalCache cache) {
+        return cache.indexFor(cache.keyFor(artifact), artifact.getBaseVersion());
     }
 
-    private static String computeDependencyKey(Dependency dependency) {
-        org.eclipse.aether.artifact.Artifact artifact = dependency.getArtifact();
-
-        StringBuilder builder = new StringBuilder().append(artifact.getGroupId()).append(':').append(artifact.getArtifactId()).append(':')
-                .append(artifact.getExtension());
-
-        if (!artifact.getClassifier().isEmpty()) {
-            builder.append(':').append(artifact.getClassifier());
-        }
-
-        return builder.toString();
+    private String computeDependencyKey(Dependency dependency) {
+        return cache.keyFor(dependency.getArtifact()).getDependencyKey();
     }
 }
@@ -0,0 +1,30 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+/**
+ * Order in which the dependency graph is examined.
+ */
+public enum TraversalMode {
+    /**
+     * Resolve the children of an artifact as soon as its descriptor is available.
+     */
+    DEPTH_FIRST,
+
+    /**
+     * Resolve the graph level by level. If the traversal is limited by a budget, the artifacts closest to the project are examined first.
+     */
+    BREADTH_FIRST
+}
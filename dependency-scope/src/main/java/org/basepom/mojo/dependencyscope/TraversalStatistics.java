@@ -0,0 +1,106 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for a single dependency graph traversal. All times are accumulated over all threads, so with parallel resolution they can exceed the
+ * elapsed time.
+ */
+public final class TraversalStatistics {
+
+    private final long startTime = System.nanoTime();
+
+    private final LongAdder descriptorsResolved = new LongAdder();
+    private final LongAdder descriptorRequestsCoalesced = new LongAdder();
+    private final LongAdder artifactsAlreadyChecked = new LongAdder();
+    private final LongAdder resolutionTime = new LongAdder();
+    private final LongAdder traversalTime = new LongAdder();
+    private final LongAdder queueWaitTime = new LongAdder();
+    private final AtomicLong maxQueueWaitTime = new AtomicLong();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+
+    private volatile long elapsedTime;
+
+    public void descriptorResolved(long nanos) {
+        descriptorsResolved.increment();
+        resolutionTime.add(nanos);
+    }
+
+    public void descriptorRequestQueued(long nanos) {
+        queueWaitTime.add(nanos);
+        maxQueueWaitTime.accumulateAndGet(nanos, Math::max);
+    }
+
+    public void descriptorRequestCoalesced() {
+        descriptorRequestsCoalesced.increment();
+    }
+
+    public void artifactVisited(TraversalContext context, long nanos) {
+        maxDepth.accumulateAndGet(context.path().size() - 1, Math::max);
+        traversalTime.add(nanos);
+    }
+
+    public void artifactAlreadyChecked() {
+        artifactsAlreadyChecked.increment();
+    }
+
+    public void traversalFinished() {
+        elapsedTime = System.nanoTime() - startTime;
+    }
+
+    public long getDescriptorsResolved() {
+        return descriptorsResolved.sum();
+    }
+
+    public long getDescriptorRequestsCoalesced() {
+        return descriptorRequestsCoalesced.sum();
+    }
+
+    public long getArtifactsAlreadyChecked() {
+        return artifactsAlreadyChecked.sum();
+    }
+
+    public int getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    public long getResolutionTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(resolutionTime.sum());
+    }
+
+    public long getTraversalTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(traversalTime.sum());
+    }
+
+    /**
+     * Total time that descriptor requests waited for the repository throttle. Included in the resolution time.
+     */
+    public long getQueueWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(queueWaitTime.sum());
+    }
+
+    public long getMaxQueueWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueWaitTime.get());
+    }
+
+    public long getElapsedTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedTime);
+    }
+}
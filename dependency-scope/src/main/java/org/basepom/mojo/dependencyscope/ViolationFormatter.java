@@ -0,0 +1,128 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.maven.artifact.Artifact;
+import org.eclipse.aether.graph.Dependency;
+
+/**
+ * Turns dependency violations into the messages that are logged by the plugin.
+ */
+public final class ViolationFormatter {
+
+    private ViolationFormatter() {
+        throw new AssertionError("ViolationFormatter can not be instantiated");
+    }
+
+    public static List<String> formatViolations(Set<DependencyViolation> violations, boolean verbose) {
+        Map<String, Set<DependencyViolation>> violationsByDependency = new TreeMap<>();
+        for (DependencyViolation violation : violations) {
+            String key = readableGATC(violation.getDependency());
+
+            if (!violationsByDependency.containsKey(key)) {
+                violationsByDependency.put(key, new TreeSet<>(artifactNameComparator()));
+            }
+
+            violationsByDependency.get(key).add(violation);
+        }
+
+        List<String> messages = new ArrayList<>();
+        for (Entry<String, Set<DependencyViolation>> dependencyViolation : violationsByDependency.entrySet()) {
+            messages.add(dependencyMessage(dependencyViolation.getKey()));
+            for (DependencyViolation violation : dependencyViolation.getValue()) {
+                messages.addAll(formatViolation(violation, verbose));
+            }
+        }
+
+        return messages;
+    }
+
+    /**
+     * Formats a single violation without the line that names the test-scoped dependency.
+     */
+    public static List<String> formatViolation(DependencyViolation violation, boolean verbose) {
+        List<String> messages = new ArrayList<>();
+        messages.add("Scope " + violation.getDependency().getScope() + " was expected by artifact " + asString(violation.getSource().currentArtifact()));
+
+        if (verbose) {
+            messages.add("");
+            messages.add("Dependency chain:");
+            StringBuilder prefix = new StringBuilder();
+            boolean first = true;
+            for (String artifact : violation.getPath()) {
+                if (first) {
+                    messages.add(artifact);
+                    first = false;
+                } else {
+                    messages.add(prefix + "\\- " + artifact);
+                    prefix.append("   ");
+                }
+            }
+        }
+
+        return messages;
+    }
+
+    public static String dependencyMessage(String dependencyKey) {
+        return "Found a problem with test-scoped dependency " + dependencyKey;
+    }
+
+    public static Comparator<DependencyViolation> artifactNameComparator() {
+        return Comparator.comparing(violation -> asString(violation.getSource().currentArtifact()));
+    }
+
+    public static String readableGATC(Dependency dependency) {
+        org.eclipse.aether.artifact.Artifact artifact = dependency.getArtifact();
+
+        String name = artifact.getGroupId() + ":" + artifact.getArtifactId();
+
+        if (!"jar".equals(artifact.getExtension())) {
+            name += ":" + artifact.getExtension();
+        }
+
+        if (!artifact.getClassifier().isEmpty()) {
+            name += ":" + artifact.getClassifier();
+        }
+
+        return name;
+    }
+
+    public static String asString(Artifact artifact) {
+        String name = artifact.getGroupId() + ":" + artifact.getArtifactId();
+
+        if (artifact.getType() != null && !"jar".equals(artifact.getType())) {
+            name += ":" + artifact.getType();
+        }
+
+        if (artifact.getClassifier() != null) {
+            name += ":" + artifact.getClassifier();
+        }
+
+        // this modifies the artifact internal state :/
+        artifact.isSnapshot();
+        name += ":" + artifact.getBaseVersion();
+
+        return name;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Writes the violations and the statistics of a dependency scope check as JSON or SARIF.
+ */
+public final class ViolationReport {
+
+    private static final String TOOL_NAME = "dependency-scope-maven-plugin";
+    private static final String TOOL_URI = "https://github.com/basepom/maven-plugins";
+    private static final String RULE_ID = "test-scope-override";
+    private static final String SARIF_SCHEMA = "https://json.schemastore.org/sarif-2.1.0.json";
+
+    private final String projectId;
+    private final String pomLocation;
+    private final String pluginVersion;
+    private final boolean fail;
+
+    /**
+     * Creates a report. The POM location is relative to the top-level project and is used as the location of the SARIF results.
+     */
+    public ViolationReport(String projectId, String pomLocation, String pluginVersion, boolean fail) {
+        this.projectId = projectId;
+        this.pomLocation = pomLocation;
+        this.pluginVersion = pluginVersion;
+        this.fail = fail;
+    }
+
+    /**
+     * A single violation in the report.
+     */
+    public static final class Entry {
+
+        private final String dependency;
+        private final String scope;
+        private final String source;
+        private final List<String> path;
+
+        public Entry(String dependency, String scope, String source, List<String> path) {
+            this.dependency = dependency;
+            this.scope = scope;
+            this.source = source;
+            this.path = path;
+        }
+    }
+
+    /**
+     * Writes the report. The statistics and the cache are null if the result of a previous check was replayed.
+     */
+    public void write(Path file, ReportFormat format, List<Entry> entries, TraversalStatistics statistics, TraversalCache cache, int notExamined)
+            throws IOException {
+        Files.createDirectories(file.getParent());
+
+        try (Writer writer = Files.newBufferedWriter(file, UTF_8)) {
+            JsonWriter json = new JsonWriter(writer);
+            if (format == ReportFormat.SARIF) {
+                writeSarif(json, entries, statistics, cache, notExamined);
+            } else {
+                writeJson(json, entries, statistics, cache, notExamined);
+            }
+            writer.write('\n');
+        }
+    }
+
+    private void writeJson(JsonWriter json, List<Entry> entries, TraversalStatistics statistics, TraversalCache cache, int notExamined)
+            throws IOException {
+        json.beginObject()
+            .name("project").value(projectId)
+            .name("pluginVersion").value(pluginVersion);
+
+        json.name("violations").beginArray();
+        for (Entry entry : entries) {
+            json.beginObject()
+                .name("dependency").value(entry.dependency)
+                .name("expectedScope").value(entry.scope)
+                .name("source").value(entry.source);
+            writePath(json, entry);
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("statistics");
+        writeStatistics(json, statistics, cache, notExamined);
+
+        json.endObject();
+    }
+
+    private void writeSarif(JsonWriter json, List<Entry> entries, TraversalStatistics statistics, TraversalCache cache, int notExamined)
+            throws IOException {
+        json.beginObject()
+            .name("$schema").value(SARIF_SCHEMA)
+            .name("version").value("2.1.0");
+
+        json.name("runs").beginArray().beginObject();
+
+        json.name("tool").beginObject().name("driver").beginObject()
+            .name("name").value(TOOL_NAME)
+            .name("version").value(pluginVersion)
+            .name("informationUri").value(TOOL_URI);
+        json.name("rules").beginArray().beginObject()
+            .name("id").value(RULE_ID)
+            .name("shortDescription").beginObject()
+            .name("text").value("A test-scoped dependency is required at compile or runtime scope by another dependency")
+            .endObject()
+            .endObject().endArray();
+        json.endObject().endObject();
+
+        json.name("results").beginArray();
+        for (Entry entry : entries) {
+            json.beginObject()
+                .name("ruleId").value(RULE_ID)
+                .name("level").value(fail ? "error" : "warning");
+            json.name("message").beginObject()
+                .name("text")
+                .value("Test-scoped dependency " + entry.dependency + " is expected at scope " + entry.scope + " by artifact " + entry.source)
+                .endObject();
+            json.name("locations").beginArray().beginObject()
+                .name("physicalLocation").beginObject()
+                .name("artifactLocation").beginObject().name("uri").value(pomLocation).endObject()
+                .endObject()
+                .endObject().endArray();
+            json.name("properties").beginObject()
+                .name("project").value(projectId)
+                .name("dependency").value(entry.dependency)
+                .name("expectedScope").value(entry.scope)
+                .name("source").value(entry.source);
+            writePath(json, entry);
+            json.endObject();
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("properties").beginObject()
+            .name("project").value(projectId)
+            .name("statistics");
+        writeStatistics(json, statistics, cache, notExamined);
+        json.endObject();
+
+        json.endObject().endArray();
+        json.endObject();
+    }
+
+    private static void writePath(JsonWriter json, Entry entry) throws IOException {
+        json.name("path").beginArray();
+        for (String element : entry.path) {
+            json.value(element);
+        }
+        json.endArray();
+    }
+
+    private static void writeStatistics(JsonWriter json, TraversalStatistics statistics, TraversalCache cache, int notExamined) throws IOException {
+        if (statistics == null) {
+            json.nullValue();
+            return;
+        }
+
+        json.beginObject()
+            .name("descriptorsResolved").value(statistics.getDescriptorsResolved())
+            .name("descriptorRequestsCoalesced").value(statistics.getDescriptorRequestsCoalesced())
+            .name("artifactKeysReused").value(cache.getKeysReused())
+            .name("artifactKeysCreated").value(cache.getKeysCreated())
+            .name("artifactsAlreadyChecked").value(statistics.getArtifactsAlreadyChecked())
+            .name("artifactsNotExamined").value(notExamined)
+            .name("maxDepth").value(statistics.getMaxDepth())
+            .name("resolutionTimeMillis").value(statistics.getResolutionTimeMillis())
+            .name("traversalTimeMillis").value(statistics.getTraversalTimeMillis())
+            .name("queueWaitTimeMillis").value(statistics.getQueueWaitTimeMillis())
+            .name("maxQueueWaitTimeMillis").value(statistics.getMaxQueueWaitTimeMillis())
+            .name("elapsedTimeMillis").value(statistics.getElapsedTimeMillis())
+            .endObject();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Receives violations while the traversal is running. Each combination of test-scoped dependency and expecting artifact is counted once, no matter
+ * through how many paths it was found. A streaming sink logs every new violation immediately. Violations of different dependencies arrive
+ * interleaved, so the dependency line is logged again whenever a violation belongs to another dependency than the one logged before it. A sink can
+ * be limited to a number of violations, after which the traversal stops.
+ */
+public final class ViolationSink {
+
+    private final Consumer<String> logger;
+    private final boolean verbose;
+    private final int maxViolations;
+
+    private final Set<String> violations = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger violationCount = new AtomicInteger();
+
+    // guarded by this
+    private String lastDependency;
+
+    private ViolationSink(Consumer<String> logger, boolean verbose, int maxViolations) {
+        this.logger = logger;
+        this.verbose = verbose;
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * Returns a sink that logs every new violation. A limit of zero or less means "unlimited".
+     */
+    public static ViolationSink streaming(Consumer<String> logger, boolean verbose, int maxViolations) {
+        return new ViolationSink(logger, verbose, maxViolations);
+    }
+
+    /**
+     * Returns a sink that only counts violations. A limit of zero or less means "unlimited".
+     */
+    public static ViolationSink counting(int maxViolations) {
+        return new ViolationSink(null, false, maxViolations);
+    }
+
+    /**
+     * Accepts a violation. Returns false if the violation limit had already been reached, in that case the violation is dropped.
+     */
+    public boolean accept(DependencyViolation violation) {
+        if (isLimitReached()) {
+            return false;
+        }
+
+        String dependency = ViolationFormatter.readableGATC(violation.getDependency());
+        if (violations.add(dependency + " " + ViolationFormatter.asString(violation.getSource().currentArtifact()))) {
+            violationCount.incrementAndGet();
+            if (logger != null) {
+                log(dependency, violation);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns true once the configured number of violations has been accepted. Concurrent traversals may accept a few violations more before they
+     * notice.
+     */
+    public boolean isLimitReached() {
+        return maxViolations > 0 && violationCount.get() >= maxViolations;
+    }
+
+    /**
+     * Number of distinct violations that were accepted.
+     */
+    public int getViolationCount() {
+        return violationCount.get();
+    }
+
+    public boolean isStreaming() {
+        return logger != null;
+    }
+
+    private synchronized void log(String dependency, DependencyViolation violation) {
+        if (!dependency.equals(lastDependency)) {
+            logger.accept(ViolationFormatter.dependencyMessage(dependency));
+            lastDependency = dependency;
+        }
+
+        List<String> messages = ViolationFormatter.formatViolation(violation, verbose);
+        messages.forEach(logger);
+    }
+}
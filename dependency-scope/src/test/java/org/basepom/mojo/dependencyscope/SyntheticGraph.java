@@ -0,0 +1,220 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+
+/**
+ * Generated dependency graph with an in-memory descriptor source. Every seventh artifact is declared test-scoped by the project, so each shape
+ * produces violations.
+ */
+public final class SyntheticGraph {
+
+    public enum Shape {
+        /**
+         * Many direct dependencies, each with two artifacts of its own.
+         */
+        WIDE,
+
+        /**
+         * Five long chains of dependencies that all share a common leaf.
+         */
+        DEEP,
+
+        /**
+         * Ten layers, every artifact depends on all artifacts of the next layer.
+         */
+        DIAMOND,
+
+        /**
+         * Like {@link #DIAMOND}, but every dependency and every direct dependency of the project carries exclusions.
+         */
+        EXCLUSION_HEAVY
+    }
+
+    private static final String GROUP_ID = "synthetic";
+    private static final String VERSION = "1.0";
+    private static final int TEST_SCOPED_INTERVAL = 7;
+    private static final int LAYERS = 10;
+
+    private final ImmutableList<Integer> roots;
+    private final ImmutableMap<Integer, ImmutableSet<Exclusion>> rootExclusions;
+    private final ImmutableMap<String, ImmutableList<Dependency>> descriptors;
+    private final ImmutableSet<String> testScopedArtifacts;
+    private final ImmutableMap<String, String> dependencyVersions;
+    private final long latencyNanos;
+
+    private SyntheticGraph(List<Integer> roots, Map<Integer, ImmutableSet<Exclusion>> rootExclusions, Map<Integer, List<Dependency>> edges,
+            int artifactCount, long latencyNanos) {
+        this.roots = ImmutableList.copyOf(roots);
+        this.rootExclusions = ImmutableMap.copyOf(rootExclusions);
+        this.latencyNanos = latencyNanos;
+
+        ImmutableMap.Builder<String, ImmutableList<Dependency>> descriptors = ImmutableMap.builder();
+        ImmutableSet.Builder<String> testScopedArtifacts = ImmutableSet.builder();
+        ImmutableMap.Builder<String, String> dependencyVersions = ImmutableMap.builder();
+        for (int i = 0; i < artifactCount; i++) {
+            descriptors.put(GROUP_ID + ":" + artifactId(i) + ":jar:" + VERSION, ImmutableList.copyOf(edges.getOrDefault(i, ImmutableList.of())));
+            dependencyVersions.put(GROUP_ID + ":" + artifactId(i) + ":jar", VERSION);
+            if (i % TEST_SCOPED_INTERVAL == TEST_SCOPED_INTERVAL - 1) {
+                testScopedArtifacts.add(GROUP_ID + ":" + artifactId(i) + ":jar");
+            }
+        }
+        this.descriptors = descriptors.build();
+        this.testScopedArtifacts = testScopedArtifacts.build();
+        this.dependencyVersions = dependencyVersions.build();
+    }
+
+    static SyntheticGraph generate(Shape shape, int size, int latencyMicros) {
+        List<Integer> roots = new ArrayList<>();
+        Map<Integer, ImmutableSet<Exclusion>> rootExclusions = new HashMap<>();
+        Map<Integer, List<Dependency>> edges = new HashMap<>();
+        int artifactCount;
+
+        switch (shape) {
+            case WIDE:
+                for (int i = 0; i < size; i++) {
+                    roots.add(i);
+                    edges.put(i, ImmutableList.of(dependency(size + 2 * i), dependency(size + 2 * i + 1)));
+                }
+                artifactCount = 3 * size;
+                break;
+
+            case DEEP:
+                int length = Math.max(1, size / 5);
+                int leaf = 5 * length;
+                for (int chain = 0; chain < 5; chain++) {
+                    int first = chain * length;
+                    roots.add(first);
+                    for (int i = first; i < first + length; i++) {
+                        List<Dependency> dependencies = new ArrayList<>();
+                        if (i + 1 < first + length) {
+                            dependencies.add(dependency(i + 1));
+                        }
+                        dependencies.add(dependency(leaf));
+                        edges.put(i, dependencies);
+                    }
+                }
+                artifactCount = leaf + 1;
+                break;
+
+            case DIAMOND:
+            case EXCLUSION_HEAVY:
+                boolean withExclusions = shape == Shape.EXCLUSION_HEAVY;
+                int width = Math.max(1, size / LAYERS);
+                for (int layer = 0; layer < LAYERS; layer++) {
+                    for (int i = layer * width; i < (layer + 1) * width; i++) {
+                        if (layer == 0) {
+                            roots.add(i);
+                            if (withExclusions) {
+                                rootExclusions.put(i, exclusions(i, width));
+                            }
+                        }
+                        if (layer + 1 < LAYERS) {
+                            List<Dependency> dependencies = new ArrayList<>(width);
+                            for (int j = (layer + 1) * width; j < (layer + 2) * width; j++) {
+                                dependencies.add(withExclusions ? dependency(j, exclusions(j, width)) : dependency(j));
+                            }
+                            edges.put(i, dependencies);
+                        }
+                    }
+                }
+                artifactCount = LAYERS * width;
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+
+        return new SyntheticGraph(roots, rootExclusions, edges, artifactCount, TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+    }
+
+    /**
+     * Returns the contexts for the direct dependencies of the synthetic project.
+     */
+    List<TraversalContext> roots(TraversalCache cache) {
+        return roots(cache, ImmutableMap.of());
+    }
+
+    /**
+     * Returns the contexts for the direct dependencies of the synthetic project, with exclusions from the dependency management of the project.
+     */
+    List<TraversalContext> roots(TraversalCache cache, ImmutableMap<String, ImmutableSet<Exclusion>> dependencyManagementExclusions) {
+        TraversalContext projectContext = TraversalContext.restore(artifact("project"), testScopedArtifacts, dependencyVersions,
+            dependencyManagementExclusions, cache);
+
+        List<TraversalContext> result = new ArrayList<>(roots.size());
+        for (int root : roots) {
+            result.add(projectContext.stepInto(artifact(artifactId(root)), rootExclusions.getOrDefault(root, ImmutableSet.of())));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the descriptor of an artifact after waiting for the configured latency.
+     */
+    ArtifactDescriptorResult readDescriptor(Artifact artifact) {
+        if (latencyNanos > 0) {
+            LockSupport.parkNanos(latencyNanos);
+        }
+
+        ArtifactDescriptorResult result = new ArtifactDescriptorResult(new ArtifactDescriptorRequest());
+        result.setDependencies(descriptors.getOrDefault(artifact.getId(), ImmutableList.of()));
+        return result;
+    }
+
+    private static Dependency dependency(int index) {
+        return dependency(index, ImmutableSet.of());
+    }
+
+    private static Dependency dependency(int index, ImmutableSet<Exclusion> exclusions) {
+        return new Dependency(new org.eclipse.aether.artifact.DefaultArtifact(GROUP_ID, artifactId(index), "", "jar", VERSION), "compile", false,
+            exclusions);
+    }
+
+    // excludes artifacts two layers further down; about half of them exist
+    private static ImmutableSet<Exclusion> exclusions(int index, int width) {
+        ImmutableSet.Builder<Exclusion> exclusions = ImmutableSet.builder();
+        for (int i = 0; i < 8; i++) {
+            exclusions.add(new Exclusion(GROUP_ID, artifactId(index + 2 * width + i * width / 4 + 1), "*", "*"));
+        }
+        return exclusions.build();
+    }
+
+    private static Artifact artifact(String artifactId) {
+        return new DefaultArtifact(GROUP_ID, artifactId, VersionRange.createFromVersion(VERSION), "compile", "jar", null, new DefaultArtifactHandler("jar"));
+    }
+
+    private static String artifactId(int index) {
+        return "a" + index;
+    }
+}
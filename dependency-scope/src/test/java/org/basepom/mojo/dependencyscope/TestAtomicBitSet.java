@@ -0,0 +1,122 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+public class TestAtomicBitSet {
+
+    private static final int PAGE_BITS = 1 << 19;
+
+    @Test
+    public void testSetOnlyOnce() {
+        int[] indexes = {0, 1, 63, 64, 65, 127, 128, PAGE_BITS - 1, PAGE_BITS, PAGE_BITS + 1, 2 * PAGE_BITS - 1, 2 * PAGE_BITS,
+            Integer.MAX_VALUE - 64, Integer.MAX_VALUE - 1, Integer.MAX_VALUE};
+
+        AtomicBitSet bitSet = new AtomicBitSet();
+        for (int index : indexes) {
+            assertFalse(bitSet.get(index), "bit " + index);
+            assertTrue(bitSet.set(index), "bit " + index);
+            assertTrue(bitSet.get(index), "bit " + index);
+            assertFalse(bitSet.set(index), "bit " + index);
+        }
+
+        for (int index : indexes) {
+            assertTrue(bitSet.get(index), "bit " + index);
+            assertFalse(bitSet.set(index), "bit " + index);
+        }
+    }
+
+    @Test
+    public void testNeighbours() {
+        // setting a bit must not set the bits next to it, in the same word, the next word or the next page
+        int[][] pairs = {{63, 64}, {64, 63}, {PAGE_BITS - 1, PAGE_BITS}, {PAGE_BITS, PAGE_BITS - 1}, {Integer.MAX_VALUE, Integer.MAX_VALUE - 1}};
+
+        for (int[] pair : pairs) {
+            AtomicBitSet bitSet = new AtomicBitSet();
+            assertTrue(bitSet.set(pair[0]));
+            assertFalse(bitSet.get(pair[1]), pair[0] + " / " + pair[1]);
+            assertTrue(bitSet.set(pair[1]), pair[0] + " / " + pair[1]);
+        }
+
+        // bits in the same position of different pages
+        AtomicBitSet bitSet = new AtomicBitSet();
+        assertTrue(bitSet.set(5));
+        assertFalse(bitSet.get(PAGE_BITS + 5));
+        assertTrue(bitSet.set(PAGE_BITS + 5));
+    }
+
+    @Test
+    public void testNegativeIndex() {
+        AtomicBitSet bitSet = new AtomicBitSet();
+        assertThrows(IllegalArgumentException.class, () -> bitSet.set(-1));
+        assertThrows(IllegalArgumentException.class, () -> bitSet.get(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void testConcurrentSet() throws Exception {
+        int threads = 8;
+        int range = 20_000;
+        // ranges overlap by half and cross the first page boundary
+        int base = PAGE_BITS - 50_000;
+        int total = range * (threads + 1) / 2;
+
+        AtomicBitSet bitSet = new AtomicBitSet();
+        AtomicIntegerArray wins = new AtomicIntegerArray(total);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int first = i * range / 2;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int offset = first; offset < first + range; offset++) {
+                        if (bitSet.set(base + offset)) {
+                            wins.incrementAndGet(offset);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int offset = 0; offset < total; offset++) {
+            assertEquals(1, wins.get(offset), "bit " + (base + offset));
+            assertTrue(bitSet.get(base + offset));
+        }
+        assertFalse(bitSet.get(base - 1));
+        assertFalse(bitSet.get(base + total));
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.project.MavenProject;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.artifact.DefaultArtifactType;
+import org.eclipse.aether.collection.CollectRequest;
+import org.eclipse.aether.collection.CollectResult;
+import org.eclipse.aether.graph.DefaultDependencyNode;
+import org.eclipse.aether.util.artifact.DefaultArtifactTypeRegistry;
+import org.junit.jupiter.api.Test;
+
+public class TestCollectedGraphAnalyzer {
+
+    @Test
+    public void testTestScopedDependencyRequiredTransitivelyIsReported() throws Exception {
+        MavenProject project = project(dependency("com.google.inject", "guice", "5.1.0", Artifact.SCOPE_COMPILE),
+            dependency("com.google.guava", "guava", "30.1-jre", Artifact.SCOPE_TEST));
+
+        DefaultDependencyNode guice = node("com.google.inject:guice:jar:5.1.0", Artifact.SCOPE_COMPILE, false);
+        guice.setChildren(List.of(node("com.google.guava:guava:jar:30.1-jre", Artifact.SCOPE_COMPILE, false)));
+
+        Set<DependencyViolation> violations = analyze(project, guice);
+
+        assertEquals(1, violations.size());
+        DependencyViolation violation = violations.iterator().next();
+        assertEquals("guava", violation.getDependency().getArtifact().getArtifactId());
+        assertEquals(Artifact.SCOPE_COMPILE, violation.getDependency().getScope());
+        assertTrue(violation.getPath().stream().anyMatch(element -> element.contains("guice")), violation.getPath().toString());
+    }
+
+    @Test
+    public void testOptionalAndTestScopedTransitiveDependenciesAreIgnored() throws Exception {
+        MavenProject project = project(dependency("com.google.inject", "guice", "5.1.0", Artifact.SCOPE_COMPILE),
+            dependency("com.google.guava", "guava", "30.1-jre", Artifact.SCOPE_TEST),
+            dependency("junit", "junit", "4.13.2", Artifact.SCOPE_TEST));
+
+        DefaultDependencyNode guice = node("com.google.inject:guice:jar:5.1.0", Artifact.SCOPE_COMPILE, false);
+        guice.setChildren(List.of(node("com.google.guava:guava:jar:30.1-jre", Artifact.SCOPE_COMPILE, true),
+            node("junit:junit:jar:4.13.2", Artifact.SCOPE_TEST, false)));
+
+        assertEquals(Set.of(), analyze(project, guice));
+    }
+
+    private static Set<DependencyViolation> analyze(MavenProject project, DefaultDependencyNode... children) throws Exception {
+        DefaultDependencyNode root = new DefaultDependencyNode(new DefaultArtifact("g:project:jar:1.0"));
+        root.setChildren(List.of(children));
+
+        RepositorySystem repositorySystem = (RepositorySystem) Proxy.newProxyInstance(RepositorySystem.class.getClassLoader(),
+            new Class<?>[] {RepositorySystem.class}, (proxy, method, args) -> {
+                if (method.getName().equals("collectDependencies")) {
+                    return new CollectResult((CollectRequest) args[1]).setRoot(root);
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+
+        DefaultRepositorySystemSession session = new DefaultRepositorySystemSession();
+        session.setArtifactTypeRegistry(new DefaultArtifactTypeRegistry().add(new DefaultArtifactType("jar")));
+
+        CollectedGraphAnalyzer analyzer = new CollectedGraphAnalyzer(repositorySystem, session, new TraversalCache(), new TraversalStatistics(),
+            ViolationSink.counting(0));
+        return analyzer.analyze(project);
+    }
+
+    private static MavenProject project(Dependency... dependencies) {
+        MavenProject project = new MavenProject();
+        project.setGroupId("g");
+        project.setArtifactId("project");
+        project.setVersion("1.0");
+        project.setArtifact(new org.apache.maven.artifact.DefaultArtifact("g", "project", "1.0", null, "jar", null, new DefaultArtifactHandler("jar")));
+
+        for (Dependency dependency : dependencies) {
+            project.getModel().addDependency(dependency);
+        }
+        project.setArtifacts(List.of(dependencies).stream()
+            .map(dependency -> new org.apache.maven.artifact.DefaultArtifact(dependency.getGroupId(), dependency.getArtifactId(),
+                dependency.getVersion(), dependency.getScope(), "jar", null, new DefaultArtifactHandler("jar")))
+            .collect(Collectors.toSet()));
+        return project;
+    }
+
+    private static Dependency dependency(String groupId, String artifactId, String version, String scope) {
+        Dependency dependency = new Dependency();
+        dependency.setGroupId(groupId);
+        dependency.setArtifactId(artifactId);
+        dependency.setVersion(version);
+        dependency.setScope(scope);
+        return dependency;
+    }
+
+    private static DefaultDependencyNode node(String coordinates, String scope, boolean optional) {
+        return new DefaultDependencyNode(new org.eclipse.aether.graph.Dependency(new DefaultArtifact(coordinates), scope, optional));
+    }
+}
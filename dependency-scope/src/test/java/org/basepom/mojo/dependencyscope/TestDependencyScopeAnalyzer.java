@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.basepom.mojo.dependencyscope.TraversalBudget.Limit;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the analyzer over a graph of five chains of three artifacts (a0-a2, a3-a5, ... a12-a14). Every artifact also depends on the shared leaf a15.
+ * The project declares a6 and a13 test-scoped, a12 pulls in a13 at runtime.
+ */
+public class TestDependencyScopeAnalyzer {
+
+    private final SyntheticGraph graph = SyntheticGraph.generate(SyntheticGraph.Shape.DEEP, 15, 0);
+
+    @Test
+    public void testUnlimited() throws Exception {
+        for (TraversalMode mode : TraversalMode.values()) {
+            Analysis analysis = analyze(mode, new TraversalBudget(0, 0, 0));
+            assertEquals(Set.of("synthetic:a12:jar:1.0 -> synthetic:a13:jar:1.0"), analysis.violations, mode.name());
+            assertEquals(Map.of(), analysis.skipped, mode.name());
+        }
+    }
+
+    @Test
+    public void testMaxDepthOne() throws Exception {
+        for (TraversalMode mode : TraversalMode.values()) {
+            Analysis analysis = analyze(mode, new TraversalBudget(1, 0, 0));
+            // the descriptors of the direct dependencies are still read, so the violation is found
+            assertEquals(Set.of("synthetic:a12:jar:1.0 -> synthetic:a13:jar:1.0"), analysis.violations, mode.name());
+            assertEquals(skipped(Limit.DEPTH, 1, 4, 7, 10, 13, 15), analysis.skipped, mode.name());
+        }
+    }
+
+    @Test
+    public void testMaxDepthTwo() throws Exception {
+        for (TraversalMode mode : TraversalMode.values()) {
+            Analysis analysis = analyze(mode, new TraversalBudget(2, 0, 0));
+            // the leaf is too deep below a1, a4, ... but is checked directly below a0, a3, ...
+            assertEquals(skipped(Limit.DEPTH, 2, 5, 8, 11, 14), analysis.skipped, mode.name());
+        }
+    }
+
+    @Test
+    public void testMaxResolutionsBreadthFirst() throws Exception {
+        Analysis analysis = analyze(TraversalMode.BREADTH_FIRST, new TraversalBudget(0, 5, 0));
+        // the five direct dependencies use all resolutions, nothing on the second level is examined
+        assertEquals(Set.of("synthetic:a12:jar:1.0 -> synthetic:a13:jar:1.0"), analysis.violations);
+        assertEquals(skipped(Limit.RESOLUTIONS, 1, 4, 7, 10, 13, 15), analysis.skipped);
+    }
+
+    @Test
+    public void testMaxResolutionsDepthFirst() throws Exception {
+        Analysis analysis = analyze(TraversalMode.DEPTH_FIRST, new TraversalBudget(0, 5, 0));
+        // the first chain with the leaf and the next direct dependency use all resolutions
+        assertEquals(Set.of(), analysis.violations);
+        assertEquals(skipped(Limit.RESOLUTIONS, 4, 6, 9, 12), analysis.skipped);
+    }
+
+    @Test
+    public void testCheckedThroughOtherPath() {
+        TraversalCache cache = new TraversalCache();
+        List<TraversalContext> roots = graph.roots(cache);
+        // a0 -> a3 is within the depth, a0 -> a3 -> a6 and a0 -> a3 -> a9 are too deep
+        TraversalContext second = roots.get(0).stepInto(roots.get(1).currentArtifact(), ImmutableSet.of());
+        TraversalContext checkedElsewhere = second.stepInto(roots.get(2).currentArtifact(), ImmutableSet.of());
+        TraversalContext tooDeep = second.stepInto(roots.get(3).currentArtifact(), ImmutableSet.of());
+
+        TraversalBudget budget = new TraversalBudget(2, 0, 0);
+        assertTrue(budget.withinDepth(second));
+        assertFalse(budget.withinDepth(checkedElsewhere));
+        assertFalse(budget.withinDepth(tooDeep));
+
+        // a6 was checked as a direct dependency
+        AtomicBitSet checkedArtifacts = new AtomicBitSet();
+        checkedArtifacts.set(roots.get(2).artifactIndex());
+
+        assertEquals(checkedElsewhere.artifactIndex(), roots.get(2).artifactIndex());
+        assertEquals(ImmutableMap.of("synthetic:a9:jar:1.0", Limit.DEPTH), budget.getSkippedArtifacts(checkedArtifacts));
+    }
+
+    private Analysis analyze(TraversalMode mode, TraversalBudget budget) throws Exception {
+        TraversalCache cache = new TraversalCache();
+        TraversalStatistics statistics = new TraversalStatistics();
+        DescriptorResolver resolver = new DescriptorResolver(graph::readDescriptor, MoreExecutors.newDirectExecutorService(), statistics);
+        DependencyScopeAnalyzer analyzer = new DependencyScopeAnalyzer(resolver, cache, statistics, budget, mode, ViolationSink.counting(0),
+            new SystemStreamLog());
+
+        Set<DependencyViolation> violations = analyzer.analyze(graph.roots(cache));
+        return new Analysis(violations.stream()
+            .map(violation -> violation.getSource().currentArtifact().getId() + " -> " + violation.getDependency().getArtifact())
+            .collect(Collectors.toSet()), analyzer.getSkippedArtifacts());
+    }
+
+    private static Map<String, Limit> skipped(Limit limit, int... indexes) {
+        return Arrays.stream(indexes).boxed().collect(Collectors.toMap(index -> "synthetic:a" + index + ":jar:1.0", index -> limit));
+    }
+
+    private static final class Analysis {
+
+        private final Set<String> violations;
+        private final SortedMap<String, Limit> skipped;
+
+        private Analysis(Set<String> violations, SortedMap<String, Limit> skipped) {
+            this.violations = violations;
+            this.skipped = skipped;
+        }
+    }
+}
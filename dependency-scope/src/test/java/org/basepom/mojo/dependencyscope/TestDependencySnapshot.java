@@ -0,0 +1,137 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.eclipse.aether.graph.Exclusion;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestDependencySnapshot {
+
+    // the descriptor of this artifact is not in the snapshot
+    private static final String MISSING = "synthetic:a5:jar:1.0";
+
+    private static final ImmutableMap<String, ImmutableSet<Exclusion>> DEPENDENCY_MANAGEMENT_EXCLUSIONS = ImmutableMap.of(
+        "synthetic:a4:jar", ImmutableSet.of(new Exclusion("synthetic", "a13", "*", "*")),
+        "synthetic:a9:jar", ImmutableSet.of(new Exclusion("synthetic", "a20", "", "jar")));
+
+    @TempDir
+    public Path directory;
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        SyntheticGraph graph = SyntheticGraph.generate(SyntheticGraph.Shape.EXCLUSION_HEAVY, 40, 0);
+
+        // live check, the artifact with the missing descriptor has no dependencies, like in the snapshot
+        TraversalCache cache = new TraversalCache();
+        TraversalStatistics statistics = new TraversalStatistics();
+        DescriptorResolver resolver = new DescriptorResolver(artifact -> MISSING.equals(artifact.getId())
+            ? new ArtifactDescriptorResult(new ArtifactDescriptorRequest())
+            : graph.readDescriptor(artifact), MoreExecutors.newDirectExecutorService(), statistics);
+        List<TraversalContext> roots = graph.roots(cache, DEPENDENCY_MANAGEMENT_EXCLUSIONS);
+        Set<DependencyViolation> violations = analyzer(resolver, cache, statistics).analyze(roots);
+        assertFalse(violations.isEmpty());
+
+        ImmutableMap<String, ArtifactDescriptorResult> descriptors = resolver.getResolvedDescriptors().entrySet().stream()
+            .filter(entry -> !MISSING.equals(entry.getKey()))
+            .collect(ImmutableMap.toImmutableMap(entry -> entry.getKey(), entry -> entry.getValue()));
+        Artifact projectArtifact = roots.get(0).path().get(0);
+        Path file = directory.resolve(DependencySnapshot.FILE_NAME);
+        DependencySnapshot.capture("synthetic:project:1.0", projectArtifact, roots, descriptors).write(file);
+
+        DependencySnapshot snapshot = DependencySnapshot.read(file, new TraversalCache());
+        assertEquals("synthetic:project:1.0", snapshot.getProjectId());
+        assertEquals(roots.size(), snapshot.getRoots().size());
+        for (int i = 0; i < roots.size(); i++) {
+            TraversalContext expected = roots.get(i);
+            TraversalContext actual = snapshot.getRoots().get(i);
+            assertEquals(expected.currentArtifact().getId(), actual.currentArtifact().getId());
+            assertEquals(expected.exclusions(), actual.exclusions());
+            assertEquals(expected.testScopedArtifacts(), actual.testScopedArtifacts());
+            assertEquals(expected.dependencyVersions(), actual.dependencyVersions());
+            assertEquals(expected.dependencyManagementExclusions(), actual.dependencyManagementExclusions());
+        }
+
+        List<String> warnings = new ArrayList<>();
+        List<String> messages = SnapshotAnalyzer.analyze(file, new SystemStreamLog() {
+            @Override
+            public void warn(CharSequence content) {
+                warnings.add(content.toString());
+            }
+        });
+
+        List<String> expectedMessages = ImmutableList.<String>builder()
+            .add("Test dependency scope issues in synthetic:project:1.0:")
+            .addAll(ViolationFormatter.formatViolations(violations, true))
+            .build();
+        assertEquals(expectedMessages, messages);
+        assertEquals(List.of("Descriptor for " + MISSING + " is not in snapshot " + file + ", its dependencies were not examined"), warnings);
+    }
+
+    @Test
+    public void testDescriptorsRoundTrip() throws Exception {
+        SyntheticGraph graph = SyntheticGraph.generate(SyntheticGraph.Shape.EXCLUSION_HEAVY, 40, 0);
+        TraversalCache cache = new TraversalCache();
+        TraversalStatistics statistics = new TraversalStatistics();
+        DescriptorResolver resolver = new DescriptorResolver(graph::readDescriptor, MoreExecutors.newDirectExecutorService(), statistics);
+        List<TraversalContext> roots = graph.roots(cache);
+        analyzer(resolver, cache, statistics).analyze(roots);
+
+        Path file = directory.resolve(DependencySnapshot.FILE_NAME);
+        DependencySnapshot.capture("synthetic:project:1.0", roots.get(0).path().get(0), roots, resolver.getResolvedDescriptors()).write(file);
+        DependencySnapshot snapshot = DependencySnapshot.read(file, new TraversalCache());
+
+        resolver.getResolvedDescriptors().forEach((id, descriptor) -> {
+            assertEquals(describe(descriptor), describe(snapshot.readDescriptor(artifact(id))), id);
+        });
+        assertEquals(Set.of(), snapshot.getMissingDescriptors());
+    }
+
+    private static Artifact artifact(String id) {
+        String[] elements = id.split(":");
+        return new DefaultArtifact(elements[0], elements[1], elements[3], Artifact.SCOPE_COMPILE, elements[2], null, new DefaultArtifactHandler(elements[2]));
+    }
+
+    private static List<String> describe(ArtifactDescriptorResult descriptor) {
+        return descriptor.getDependencies().stream()
+            .map(dependency -> dependency.getArtifact() + " " + dependency.getScope() + " " + dependency.isOptional() + " "
+                + dependency.getExclusions().stream().map(Exclusion::toString).sorted().collect(Collectors.joining(",")))
+            .collect(Collectors.toList());
+    }
+
+    private static DependencyScopeAnalyzer analyzer(DescriptorResolver resolver, TraversalCache cache, TraversalStatistics statistics) {
+        return new DependencyScopeAnalyzer(resolver, cache, statistics, new TraversalBudget(0, 0, 0), TraversalMode.DEPTH_FIRST,
+            ViolationSink.counting(0), new SystemStreamLog());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.maven.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.resolution.ArtifactDescriptorRequest;
+import org.eclipse.aether.resolution.ArtifactDescriptorResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TestDescriptorResolver {
+
+    private final TraversalCache cache = new TraversalCache();
+    private final TraversalStatistics statistics = new TraversalStatistics();
+    private final AtomicInteger reads = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private ListeningExecutorService executorService;
+    private DescriptorResolver resolver;
+    private TraversalContext project;
+
+    @BeforeEach
+    public void setUp() {
+        executorService = MoreExecutors.listeningDecorator(Executors.newCachedThreadPool());
+        resolver = new DescriptorResolver(artifact -> {
+            reads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new ArtifactDescriptorResult(new ArtifactDescriptorRequest());
+        }, executorService, statistics);
+
+        project = TraversalContext.restore(artifact("g:project:jar:1.0"), ImmutableSet.of(), ImmutableMap.of(), ImmutableMap.of(), cache);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testPrefetchIsNotCoalesced() throws Exception {
+        TraversalContext child = context("g:a:jar:1.0");
+        resolver.prefetch(List.of(child));
+
+        ListenableFuture<ArtifactDescriptorResult> future = resolver.resolve(context("g:a:jar:1.0"));
+        release.countDown();
+        future.get();
+
+        assertEquals(1, reads.get());
+        assertEquals(0, statistics.getDescriptorRequestsCoalesced());
+    }
+
+    @Test
+    public void testRequestInFlightIsCoalesced() throws Exception {
+        ListenableFuture<ArtifactDescriptorResult> first = resolver.resolve(context("g:a:jar:1.0"));
+        ListenableFuture<ArtifactDescriptorResult> second = resolver.resolve(context("g:a:jar:1.0"));
+
+        assertSame(first, second);
+        assertEquals(1, statistics.getDescriptorRequestsCoalesced());
+
+        release.countDown();
+        first.get();
+
+        // a completed request is reused, but nothing is shared with a request in flight
+        resolver.resolve(context("g:a:jar:1.0")).get();
+        assertEquals(1, statistics.getDescriptorRequestsCoalesced());
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    public void testVersionsAreResolvedSeparately() throws Exception {
+        ListenableFuture<ArtifactDescriptorResult> first = resolver.resolve(context("g:a:jar:1.0"));
+        ListenableFuture<ArtifactDescriptorResult> second = resolver.resolve(context("g:a:jar:2.0"));
+        release.countDown();
+        first.get();
+        second.get();
+
+        assertEquals(List.of("g:a:jar:1.0", "g:a:jar:2.0"), List.copyOf(resolver.getResolvedDescriptors().keySet()));
+        assertEquals(2, reads.get());
+        assertEquals(0, statistics.getDescriptorRequestsCoalesced());
+    }
+
+    private TraversalContext context(String coordinates) {
+        return project.stepInto(artifact(coordinates), ImmutableSet.of());
+    }
+
+    private Artifact artifact(String coordinates) {
+        DefaultArtifact artifact = new DefaultArtifact(coordinates);
+        return cache.artifactFor(new Dependency(artifact, Artifact.SCOPE_COMPILE), artifact.getVersion());
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.google.common.collect.ImmutableSet;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.Exclusion;
+import org.junit.jupiter.api.Test;
+
+public class TestExclusionMatcher {
+
+    private static final String WILDCARD = "*";
+
+    private static final List<String> GROUP_IDS = List.of("g", "h", WILDCARD);
+    private static final List<String> ARTIFACT_IDS = List.of("a", "b", WILDCARD);
+    private static final List<String> CLASSIFIERS = List.of("", "tests", "sources", WILDCARD);
+    private static final List<String> EXTENSIONS = List.of("jar", "pom", "test-jar", WILDCARD);
+
+    private static final Object[][] TABLE = {
+        // exclusions, dependency, excluded
+        {ImmutableSet.of(), "g:a:jar:1.0", false},
+        {ImmutableSet.of(exclusion("g", "a", "*", "*")), "g:a:jar:1.0", true},
+        {ImmutableSet.of(exclusion("g", "a", "*", "*")), "g:a:pom:tests:1.0", true},
+        {ImmutableSet.of(exclusion("g", "a", "*", "*")), "g:b:jar:1.0", false},
+        {ImmutableSet.of(exclusion("g", "a", "*", "*")), "h:a:jar:1.0", false},
+        // wildcards in groupId and artifactId are compared literally, like the exclusion handling before the matcher
+        {ImmutableSet.of(exclusion("*", "a", "*", "*")), "g:a:jar:1.0", false},
+        {ImmutableSet.of(exclusion("g", "*", "*", "*")), "g:a:jar:1.0", false},
+        {ImmutableSet.of(exclusion("*", "*", "*", "*")), "g:a:jar:1.0", false},
+        // extension only
+        {ImmutableSet.of(exclusion("g", "a", "*", "jar")), "g:a:jar:1.0", true},
+        {ImmutableSet.of(exclusion("g", "a", "*", "jar")), "g:a:jar:tests:1.0", true},
+        {ImmutableSet.of(exclusion("g", "a", "*", "jar")), "g:a:pom:1.0", false},
+        // classifier only
+        {ImmutableSet.of(exclusion("g", "a", "tests", "*")), "g:a:jar:tests:1.0", true},
+        {ImmutableSet.of(exclusion("g", "a", "tests", "*")), "g:a:test-jar:tests:1.0", true},
+        {ImmutableSet.of(exclusion("g", "a", "tests", "*")), "g:a:jar:1.0", false},
+        {ImmutableSet.of(exclusion("g", "a", "", "*")), "g:a:jar:1.0", true},
+        {ImmutableSet.of(exclusion("g", "a", "", "*")), "g:a:jar:tests:1.0", false},
+        // classifier and extension
+        {ImmutableSet.of(exclusion("g", "a", "tests", "jar")), "g:a:jar:tests:1.0", true},
+        {ImmutableSet.of(exclusion("g", "a", "tests", "jar")), "g:a:test-jar:tests:1.0", false},
+        {ImmutableSet.of(exclusion("g", "a", "tests", "jar")), "g:a:jar:1.0", false},
+        {ImmutableSet.of(exclusion("g", "a", "tests", "jar"), exclusion("g", "a", "sources", "pom")), "g:a:pom:sources:1.0", true},
+        {ImmutableSet.of(exclusion("g", "a", "tests", "jar"), exclusion("g", "a", "sources", "pom")), "g:a:pom:tests:1.0", false},
+        {ImmutableSet.of(exclusion("g", "a", "tests", "jar"), exclusion("g", "a", "sources", "pom")), "g:a:jar:sources:1.0", false},
+        // rules for different coordinates do not mix
+        {ImmutableSet.of(exclusion("g", "a", "tests", "*"), exclusion("g", "b", "*", "pom")), "g:a:pom:1.0", false},
+        {ImmutableSet.of(exclusion("g", "a", "tests", "*"), exclusion("g", "b", "*", "pom")), "g:b:pom:1.0", true},
+        {ImmutableSet.of(exclusion("g", "a", "tests", "*"), exclusion("g", "b", "*", "pom")), "g:b:jar:tests:1.0", false},
+    };
+
+    @Test
+    public void testTable() {
+        for (Object[] row : TABLE) {
+            @SuppressWarnings("unchecked")
+            ImmutableSet<Exclusion> exclusions = (ImmutableSet<Exclusion>) row[0];
+            Dependency dependency = dependency((String) row[1]);
+            String description = exclusions + " / " + row[1];
+
+            assertEquals(row[2], ExclusionMatcher.compile(exclusions).isExcluded(dependency), description);
+            assertEquals(row[2], isExcludedByScan(exclusions, dependency), description);
+        }
+    }
+
+    @Test
+    public void testSingleExclusions() {
+        List<Exclusion> exclusions = allExclusions();
+        List<Dependency> dependencies = allDependencies();
+
+        for (Exclusion exclusion : exclusions) {
+            ExclusionMatcher matcher = ExclusionMatcher.compile(ImmutableSet.of(exclusion));
+            for (Dependency dependency : dependencies) {
+                assertEquals(isExcludedByScan(ImmutableSet.of(exclusion), dependency), matcher.isExcluded(dependency), exclusion + " / " + dependency);
+            }
+        }
+    }
+
+    @Test
+    public void testExclusionSets() {
+        List<Exclusion> exclusions = allExclusions();
+        List<Dependency> dependencies = allDependencies();
+        Random random = new Random(1234L);
+
+        for (int i = 0; i < 500; i++) {
+            ImmutableSet.Builder<Exclusion> builder = ImmutableSet.builder();
+            int size = random.nextInt(8);
+            for (int j = 0; j < size; j++) {
+                builder.add(exclusions.get(random.nextInt(exclusions.size())));
+            }
+            ImmutableSet<Exclusion> exclusionSet = builder.build();
+
+            ExclusionMatcher matcher = ExclusionMatcher.compile(exclusionSet);
+            assertEquals(exclusionSet, matcher.exclusions());
+            for (Dependency dependency : dependencies) {
+                assertEquals(isExcludedByScan(exclusionSet, dependency), matcher.isExcluded(dependency), exclusionSet + " / " + dependency);
+            }
+        }
+    }
+
+    /**
+     * The exclusion check before exclusions were compiled: scan all exclusions and compare the four fields, classifier and extension may be wildcards.
+     */
+    private static boolean isExcludedByScan(ImmutableSet<Exclusion> exclusions, Dependency dependency) {
+        Artifact artifact = dependency.getArtifact();
+        for (Exclusion exclusion : exclusions) {
+            if (artifact.getGroupId().equals(exclusion.getGroupId()) && artifact.getArtifactId().equals(exclusion.getArtifactId())
+                    && (WILDCARD.equals(exclusion.getClassifier()) || artifact.getClassifier().equals(exclusion.getClassifier()))
+                    && (WILDCARD.equals(exclusion.getExtension()) || artifact.getExtension().equals(exclusion.getExtension()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Exclusion> allExclusions() {
+        List<Exclusion> exclusions = new ArrayList<>();
+        for (String groupId : GROUP_IDS) {
+            for (String artifactId : ARTIFACT_IDS) {
+                for (String classifier : CLASSIFIERS) {
+                    for (String extension : EXTENSIONS) {
+                        exclusions.add(exclusion(groupId, artifactId, classifier, extension));
+                    }
+                }
+            }
+        }
+        return exclusions;
+    }
+
+    private static List<Dependency> allDependencies() {
+        List<Dependency> dependencies = new ArrayList<>();
+        for (String groupId : GROUP_IDS.subList(0, 2)) {
+            for (String artifactId : ARTIFACT_IDS.subList(0, 2)) {
+                for (String classifier : CLASSIFIERS.subList(0, 3)) {
+                    for (String extension : EXTENSIONS.subList(0, 3)) {
+                        dependencies.add(new Dependency(new DefaultArtifact(groupId, artifactId, classifier, extension, "1.0"), "compile"));
+                    }
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    private static Exclusion exclusion(String groupId, String artifactId, String classifier, String extension) {
+        return new Exclusion(groupId, artifactId, classifier, extension);
+    }
+
+    private static Dependency dependency(String coordinates) {
+        return new Dependency(new DefaultArtifact(coordinates), "compile");
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.DependencyManagement;
+import org.apache.maven.model.Exclusion;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.shared.dependency.graph.DependencyNode;
+import org.apache.maven.shared.dependency.graph.internal.DefaultDependencyNode;
+import org.junit.jupiter.api.Test;
+
+public class TestGraphFingerprint {
+
+    @Test
+    public void testSameTreeSameHash() {
+        Optional<String> fingerprint = fingerprint(graph -> {});
+        assertTrue(fingerprint.isPresent());
+        assertEquals(fingerprint, fingerprint(graph -> {}));
+    }
+
+    @Test
+    public void testDeclaredExclusion() {
+        assertChanged(graph -> graph.declaredExclusions = List.of(exclusion("g", "excluded")));
+        assertChanged(graph -> graph.declaredExclusions = List.of(exclusion("g", "other")));
+    }
+
+    @Test
+    public void testManagedExclusion() {
+        assertChanged(graph -> graph.managedExclusions = List.of(exclusion("g", "excluded")));
+        assertChanged(graph -> graph.managedExclusions = List.of(exclusion("g", "other")));
+    }
+
+    @Test
+    public void testPremanagedScope() {
+        assertChanged(graph -> graph.premanagedScope = Artifact.SCOPE_COMPILE);
+        assertChanged(graph -> graph.premanagedScope = Artifact.SCOPE_RUNTIME);
+    }
+
+    @Test
+    public void testPremanagedVersion() {
+        assertChanged(graph -> graph.premanagedVersion = "0.9");
+        assertChanged(graph -> graph.premanagedVersion = "0.8");
+    }
+
+    @Test
+    public void testConfiguration() {
+        assertChanged(graph -> graph.configuration = "1.0.4:false");
+    }
+
+    @Test
+    public void testSnapshot() {
+        assertEquals(Optional.empty(), fingerprint(graph -> graph.transitiveVersion = "2.0-SNAPSHOT"));
+    }
+
+    @Test
+    public void testSnapshotProject() {
+        // the project artifact itself is not part of the fingerprint check
+        assertTrue(fingerprint(graph -> graph.projectVersion = "1.0-SNAPSHOT").isPresent());
+    }
+
+    private static void assertChanged(Consumer<Graph> change) {
+        Optional<String> fingerprint = fingerprint(change);
+        assertTrue(fingerprint.isPresent());
+        assertNotEquals(fingerprint(graph -> {}), fingerprint);
+    }
+
+    private static Optional<String> fingerprint(Consumer<Graph> change) {
+        Graph graph = new Graph();
+        change.accept(graph);
+        return graph.fingerprint();
+    }
+
+    private static Exclusion exclusion(String groupId, String artifactId) {
+        Exclusion exclusion = new Exclusion();
+        exclusion.setGroupId(groupId);
+        exclusion.setArtifactId(artifactId);
+        return exclusion;
+    }
+
+    private static Artifact artifact(String artifactId, String version, String scope) {
+        return new DefaultArtifact("g", artifactId, version, scope, "jar", null, new DefaultArtifactHandler("jar"));
+    }
+
+    /**
+     * Project with one direct dependency that has one transitive dependency. Each test changes a single input.
+     */
+    private static final class Graph {
+
+        private String configuration = "1.0.4:true";
+        private String projectVersion = "1.0";
+        private String transitiveVersion = "2.0";
+        private String premanagedVersion;
+        private String premanagedScope;
+        private List<Exclusion> declaredExclusions = List.of();
+        private List<Exclusion> managedExclusions = List.of();
+
+        Optional<String> fingerprint() {
+            Artifact direct = artifact("direct", "1.0", Artifact.SCOPE_COMPILE);
+            Artifact transitive = artifact("transitive", transitiveVersion, Artifact.SCOPE_TEST);
+
+            MavenProject project = new MavenProject();
+            project.setGroupId("g");
+            project.setArtifactId("project");
+            project.setVersion(projectVersion);
+            project.setArtifact(artifact("project", projectVersion, null));
+            project.setArtifacts(Set.of(direct, transitive));
+
+            Dependency dependency = new Dependency();
+            dependency.setGroupId("g");
+            dependency.setArtifactId("direct");
+            dependency.setVersion("1.0");
+            dependency.setExclusions(declaredExclusions);
+            project.getModel().addDependency(dependency);
+
+            Dependency managed = new Dependency();
+            managed.setGroupId("g");
+            managed.setArtifactId("transitive");
+            managed.setVersion(transitiveVersion);
+            managed.setScope(Artifact.SCOPE_TEST);
+            managed.setExclusions(managedExclusions);
+            DependencyManagement dependencyManagement = new DependencyManagement();
+            dependencyManagement.addDependency(managed);
+            project.getModel().setDependencyManagement(dependencyManagement);
+
+            DefaultDependencyNode root = new DefaultDependencyNode(project.getArtifact());
+            DefaultDependencyNode directNode = new DefaultDependencyNode(root, direct, null, null, null, false, declaredExclusions);
+            DefaultDependencyNode transitiveNode = new DefaultDependencyNode(directNode, transitive, premanagedVersion, premanagedScope, null, false,
+                List.of());
+            transitiveNode.setChildren(List.of());
+            directNode.setChildren(List.<DependencyNode>of(transitiveNode));
+            root.setChildren(List.<DependencyNode>of(directNode));
+
+            return GraphFingerprint.compute(project, root, configuration);
+        }
+    }
+}
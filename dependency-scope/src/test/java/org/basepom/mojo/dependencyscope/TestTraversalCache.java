@@ -0,0 +1,72 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.maven.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.Test;
+
+public class TestTraversalCache {
+
+    @Test
+    public void testKeysAreInterned() {
+        TraversalCache cache = new TraversalCache();
+
+        ArtifactKey key = cache.keyFor(new DefaultArtifact("g:a:jar:1.0"));
+        assertSame(key, cache.keyFor(new DefaultArtifact("g:a:jar:2.0")));
+        assertEquals(1, cache.getKeysCreated());
+        assertEquals(1, cache.getKeysReused());
+
+        ArtifactKey testsKey = cache.keyFor(new DefaultArtifact("g:a:jar:tests:1.0"));
+        ArtifactKey pomKey = cache.keyFor(new DefaultArtifact("g:a:pom:1.0"));
+        assertNotSame(key, testsKey);
+        assertNotSame(key, pomKey);
+        assertSame(testsKey, cache.keyFor(new DefaultArtifact("g:a:jar:tests:1.0")));
+        assertSame(pomKey, cache.keyFor(new DefaultArtifact("g:a:pom:1.0")));
+        assertSame(key, cache.keyFor(new DefaultArtifact("g:a:jar:1.0")));
+
+        assertEquals("g:a:jar:tests", testsKey.getDependencyKey());
+        assertEquals(3, cache.getKeysCreated());
+    }
+
+    @Test
+    public void testMavenArtifactKey() {
+        TraversalCache cache = new TraversalCache();
+
+        Artifact artifact = cache.artifactFor(new Dependency(new DefaultArtifact("g:a:jar:1.0"), Artifact.SCOPE_COMPILE), "1.0");
+        assertSame(cache.keyFor(new DefaultArtifact("g:a:jar:1.0")), cache.keyFor(artifact));
+    }
+
+    @Test
+    public void testArtifactsKeepOptionalFlag() {
+        TraversalCache cache = new TraversalCache();
+        DefaultArtifact aetherArtifact = new DefaultArtifact("g:a:jar:1.0");
+
+        Artifact optional = cache.artifactFor(new Dependency(aetherArtifact, Artifact.SCOPE_COMPILE, true), "1.0");
+        Artifact required = cache.artifactFor(new Dependency(aetherArtifact, Artifact.SCOPE_COMPILE, false), "1.0");
+
+        assertTrue(optional.isOptional());
+        assertFalse(required.isOptional());
+        assertSame(optional, cache.artifactFor(new Dependency(aetherArtifact, Artifact.SCOPE_COMPILE, true), "1.0"));
+        assertSame(required, cache.artifactFor(new Dependency(aetherArtifact, Artifact.SCOPE_COMPILE, false), "1.0"));
+    }
+}
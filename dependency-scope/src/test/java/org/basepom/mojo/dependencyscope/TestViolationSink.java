@@ -0,0 +1,91 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.apache.maven.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.graph.Dependency;
+import org.junit.jupiter.api.Test;
+
+public class TestViolationSink {
+
+    private final TraversalCache cache = new TraversalCache();
+    private final TraversalContext project = TraversalContext.restore(artifact("g:project:jar:1.0"), ImmutableSet.of(), ImmutableMap.of(),
+        ImmutableMap.of(), cache);
+
+    @Test
+    public void testInterleavedViolationsRepeatDependency() {
+        List<String> lines = new ArrayList<>();
+        ViolationSink sink = ViolationSink.streaming(lines::add, false, 0);
+
+        assertTrue(sink.accept(violation("g:a:jar:1.0", "t:x:jar:1.0")));
+        assertTrue(sink.accept(violation("g:b:jar:1.0", "t:y:jar:1.0")));
+        assertTrue(sink.accept(violation("g:c:jar:1.0", "t:x:jar:1.0")));
+        assertTrue(sink.accept(violation("g:d:jar:1.0", "t:x:jar:1.0")));
+
+        assertEquals(List.of(
+            ViolationFormatter.dependencyMessage("t:x"),
+            "Scope compile was expected by artifact g:a:1.0",
+            ViolationFormatter.dependencyMessage("t:y"),
+            "Scope compile was expected by artifact g:b:1.0",
+            ViolationFormatter.dependencyMessage("t:x"),
+            "Scope compile was expected by artifact g:c:1.0",
+            "Scope compile was expected by artifact g:d:1.0"), lines);
+    }
+
+    @Test
+    public void testDuplicateViolationsAreCountedOnce() {
+        List<String> lines = new ArrayList<>();
+        ViolationSink sink = ViolationSink.streaming(lines::add, false, 0);
+
+        sink.accept(violation("g:a:jar:1.0", "t:x:jar:1.0"));
+        sink.accept(violation("g:a:jar:1.0", "t:x:jar:1.0"));
+
+        assertEquals(1, sink.getViolationCount());
+        assertEquals(2, lines.size());
+    }
+
+    @Test
+    public void testLimit() {
+        ViolationSink sink = ViolationSink.counting(2);
+
+        assertTrue(sink.accept(violation("g:a:jar:1.0", "t:x:jar:1.0")));
+        assertFalse(sink.isLimitReached());
+        assertTrue(sink.accept(violation("g:b:jar:1.0", "t:x:jar:1.0")));
+        assertTrue(sink.isLimitReached());
+        assertFalse(sink.accept(violation("g:c:jar:1.0", "t:x:jar:1.0")));
+        assertEquals(2, sink.getViolationCount());
+        assertFalse(sink.isStreaming());
+    }
+
+    private DependencyViolation violation(String source, String dependency) {
+        TraversalContext context = project.stepInto(artifact(source), ImmutableSet.of());
+        return new DependencyViolation(context, new Dependency(new DefaultArtifact(dependency), Artifact.SCOPE_COMPILE));
+    }
+
+    private Artifact artifact(String coordinates) {
+        DefaultArtifact artifact = new DefaultArtifact(coordinates);
+        return cache.artifactFor(new Dependency(artifact, Artifact.SCOPE_COMPILE), artifact.getVersion());
+    }
+}
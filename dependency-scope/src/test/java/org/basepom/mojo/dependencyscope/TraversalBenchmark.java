@@ -0,0 +1,136 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.dependencyscope;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures the throughput of a full dependency scope traversal over synthetic graphs, with descriptors served from memory after a configurable
+ * latency. Run with the GC profiler (the default when started through {@link #main(String...)}) to get the allocation rate; the peak heap usage of
+ * each iteration is reported as the <code>peakHeapBytes</code> counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TraversalBenchmark {
+
+    @Param({"WIDE", "DEEP", "DIAMOND", "EXCLUSION_HEAVY"})
+    public SyntheticGraph.Shape shape;
+
+    @Param("1000")
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    @Param({"DEPTH_FIRST", "BREADTH_FIRST"})
+    public TraversalMode traversal;
+
+    @Param("0")
+    public int latencyMicros;
+
+    private SyntheticGraph graph;
+    private ListeningExecutorService executorService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = SyntheticGraph.generate(shape, size, latencyMicros);
+        executorService = parallel
+            ? MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(Math.min(Runtime.getRuntime().availableProcessors() * 5, 20),
+                new ThreadFactoryBuilder().setNameFormat("benchmark-resolver-%s").setDaemon(true).build()))
+            : MoreExecutors.newDirectExecutorService();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Benchmark
+    public Set<DependencyViolation> traverse(HeapUsage heapUsage) throws MojoExecutionException {
+        TraversalStatistics statistics = new TraversalStatistics();
+        TraversalCache cache = new TraversalCache();
+        DependencyScopeAnalyzer analyzer = new DependencyScopeAnalyzer(new DescriptorResolver(graph::readDescriptor, executorService, statistics), cache,
+            statistics, new TraversalBudget(0, 0, 0), traversal, ViolationSink.counting(0), new SystemStreamLog());
+
+        return analyzer.analyze(graph.roots(cache));
+    }
+
+    /**
+     * Peak heap usage over an iteration, from the memory pool peak usage that is reset at the start of the iteration. The JVM tracks the peak
+     * itself, so the pools are only read once at the end of the iteration and the measured invocations are left alone.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapUsage {
+
+        public long peakHeapBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            peakHeapBytes = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                pool.resetPeakUsage();
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void record() {
+            long used = 0;
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    used += pool.getPeakUsage().getUsed();
+                }
+            }
+            peakHeapBytes = used;
+        }
+    }
+
+    public static void main(String... args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TraversalBenchmark.class.getName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -45,7 +45,6 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.flogger.FluentLogger;
-import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -476,10 +475,8 @@ public abstract class AbstractPropertyHelperMojo extends AbstractMojo implements
     }
 
     // generates the property groups.
-    @SuppressFBWarnings(value = "WMI_WRONG_MAP_ITERATOR")
     public void createGroups() {
         var groupMapBuilder = ImmutableMap.<String, PropertyGroup>builder();
-        var resultMapBuilder = ImmutableMap.<String, Set<PropertyResult>>builder();
 
         Set<String> exportedFields = fieldDefinitions.values().stream()
             .filter(FieldDefinition::isExport)
@@ -489,38 +486,40 @@ public abstract class AbstractPropertyHelperMojo extends AbstractMojo implements
 
         propertyGroupDefinitions.forEach(propertyGroupDefinition -> {
             PropertyGroup propertyGroup = propertyGroupDefinition.createGroup(this);
-            Set<PropertyResult> propertyResults = propertyGroup.createProperties(values);
             groupMapBuilder.put(propertyGroup.getId(), propertyGroup);
-            resultMapBuilder.put(propertyGroup.getId(), propertyResults);
         });
 
         var groupMap = groupMapBuilder.build();
-        var resultMap = resultMapBuilder.build();
 
         var groupsToAdd = this.activeGroups == null
             ? groupMap.keySet()
             : this.activeGroups;
 
+        // only groups that are activated and active are evaluated. All of them are evaluated before any property is set, as
+        // the project properties are visible to the property templates.
+        var resultsBuilder = ImmutableList.<Map.Entry<PropertyGroup, Set<PropertyResult>>>builder();
         for (String groupToAdd : groupsToAdd) {
-
             var activeGroup = groupMap.get(groupToAdd);
             checkState(activeGroup != null, "activated group '%s' does not exist", groupToAdd);
-            var activeResult = resultMap.get(groupToAdd);
-            checkState(activeResult != null, "activated group '%s' has no result", groupToAdd);
 
             if (activeGroup.checkActive(isSnapshot)) {
-                for (PropertyResult propertyResult : activeResult) {
-                    String propertyName = propertyResult.getPropertyName();
+                resultsBuilder.add(Map.entry(activeGroup, activeGroup.createProperties(values)));
+            } else {
+                LOG.atFine().log("Skipping property group %s, not active", activeGroup);
+            }
+        }
+
+        for (var result : resultsBuilder.build()) {
+            var activeGroup = result.getKey();
+            for (PropertyResult propertyResult : result.getValue()) {
+                String propertyName = propertyResult.getPropertyName();
 
-                    if (checkIgnoreWarnFailState(!propertyNames.contains(propertyName), activeGroup.getOnDuplicateProperty(),
-                        () -> format("property '%s' is not exposed", propertyName),
-                        () -> format("property '%s' is already exposed!", propertyName))) {
+                if (checkIgnoreWarnFailState(!propertyNames.contains(propertyName), activeGroup.getOnDuplicateProperty(),
+                    () -> format("property '%s' is not exposed", propertyName),
+                    () -> format("property '%s' is already exposed!", propertyName))) {
 
-                        project.getProperties().setProperty(propertyName, propertyResult.getPropertyValue());
-                    }
+                    project.getProperties().setProperty(propertyName, propertyResult.getPropertyValue());
                 }
-            } else {
-                LOG.atFine().log("Skipping property group %s, not active", activeGroup);
             }
         }
     }
@@ -18,6 +18,7 @@ package org.basepom.mojo.propertyhelper;
 import org.basepom.mojo.propertyhelper.definitions.FieldDefinition;
 
 import java.util.Optional;
+import java.util.function.Function;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -29,13 +30,13 @@ public abstract class Field<T, U extends FieldDefinition<T>> {
 
     protected final U fieldDefinition;
     private final InterpolatorFactory interpolatorFactory;
-    private final TransformerRegistry transformerRegistry;
+    private final Function<String, String> transformers;
 
 
     protected Field(U fieldDefinition, FieldContext context) {
         this.fieldDefinition = fieldDefinition;
         this.interpolatorFactory = context.getInterpolatorFactory();
-        this.transformerRegistry = context.getTransformerRegistry();
+        this.transformers = context.getTransformerRegistry().applyTransformers(fieldDefinition.getTransformers());
     }
 
     /**
@@ -55,7 +56,7 @@ public abstract class Field<T, U extends FieldDefinition<T>> {
             .map(interpolatorFactory.interpolate(getFieldName(), fieldDefinition.getOnMissingProperty(), ImmutableMap.of()))
             .map(fieldDefinition.getPostFormat())
             .map(fieldDefinition.getRegexp())
-            .map(transformerRegistry.applyTransformers(fieldDefinition.getTransformers()))
+            .map(transformers)
             .orElse("");
     }
 
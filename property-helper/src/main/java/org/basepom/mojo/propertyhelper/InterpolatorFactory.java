@@ -21,6 +21,7 @@ import static org.basepom.mojo.propertyhelper.IgnoreWarnFail.checkIgnoreWarnFail
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -30,23 +31,49 @@ import org.apache.maven.model.Model;
 import org.codehaus.plexus.interpolation.EnvarBasedValueSource;
 import org.codehaus.plexus.interpolation.InterpolationException;
 import org.codehaus.plexus.interpolation.Interpolator;
-import org.codehaus.plexus.interpolation.MapBasedValueSource;
 import org.codehaus.plexus.interpolation.ObjectBasedValueSource;
 import org.codehaus.plexus.interpolation.PrefixAwareRecursionInterceptor;
 import org.codehaus.plexus.interpolation.PrefixedValueSourceWrapper;
 import org.codehaus.plexus.interpolation.PropertiesBasedValueSource;
 import org.codehaus.plexus.interpolation.StringSearchInterpolator;
+import org.codehaus.plexus.interpolation.ValueSource;
 
+/**
+ * Interpolates "late resolution" properties (<code>@{...}</code>). The value sources for the environment, the system properties and the model are
+ * created once per execution, environment and system properties are a snapshot taken at that time. Templates without a placeholder are returned
+ * unchanged. Templates that are evaluated against a map of properties (the property groups) use {@link TemplateBindings}.
+ */
 public final class InterpolatorFactory {
 
     private static final List<String> SYNONYM_PREFIXES = ImmutableList.of("project", "pom");
-    private static final String PREFIX = "@{";
-    private static final String POSTFIX = "}";
+    private static final String PREFIX = PropertyTemplate.PREFIX;
+    private static final String POSTFIX = PropertyTemplate.POSTFIX;
+    private static final Pattern LEFTOVER_PATTERN = Pattern.compile(Pattern.quote(PREFIX) + ".*?" + Pattern.quote(POSTFIX));
+
+    private final List<ValueSource> valueSources;
+    private final Interpolator fieldInterpolator;
 
-    private final Model model;
+    // the property groups evaluate all of their properties with the same map
+    private Map<String, String> lastProperties;
+    private TemplateBindings lastBindings;
 
     public InterpolatorFactory(final Model model) {
-        this.model = checkNotNull(model, "model is null");
+        checkNotNull(model, "model is null");
+
+        Properties systemProperties = new Properties();
+        systemProperties.putAll(System.getProperties());
+
+        try {
+            this.valueSources = ImmutableList.of(
+                new EnvarBasedValueSource(),
+                new PropertiesBasedValueSource(systemProperties),
+                new PrefixedValueSourceWrapper(new ObjectBasedValueSource(model), SYNONYM_PREFIXES, true),
+                new PrefixedValueSourceWrapper(new PropertiesBasedValueSource(model.getProperties()), SYNONYM_PREFIXES, true));
+        } catch (IOException e) {
+            throw Sneaky.throwAnyway(e);
+        }
+
+        this.fieldInterpolator = createInterpolator();
     }
 
     public static InterpolatorFactory forTesting() {
@@ -64,28 +91,42 @@ public final class InterpolatorFactory {
     }
 
     private String interpolate(final String name, final String value, final IgnoreWarnFail onMissingField, final Map<String, String> properties)
-        throws IOException, InterpolationException {
+        throws InterpolationException {
         checkNotNull(name, "name is null");
         checkNotNull(value, "value is null");
         checkNotNull(properties, "properties is null");
 
-        final Interpolator interpolator = new StringSearchInterpolator(PREFIX, POSTFIX);
-        interpolator.addValueSource(new EnvarBasedValueSource());
-        interpolator.addValueSource(new PropertiesBasedValueSource(System.getProperties()));
+        if (!value.contains(PREFIX)) {
+            return value;
+        }
 
-        interpolator.addValueSource(new PrefixedValueSourceWrapper(new ObjectBasedValueSource(model),
-            SYNONYM_PREFIXES,
-            true));
+        if (!properties.isEmpty()) {
+            return bind(properties).evaluate(PropertyTemplate.compile(value), onMissingField);
+        }
+
+        final String result = fieldInterpolator.interpolate(value, new PrefixAwareRecursionInterceptor(SYNONYM_PREFIXES, true));
+        // the value sources are reused, do not let their feedback accumulate
+        fieldInterpolator.clearFeedback();
+
+        return removeLeftovers(value, result, onMissingField);
+    }
 
-        interpolator.addValueSource(new PrefixedValueSourceWrapper(new PropertiesBasedValueSource(model.getProperties()),
-            SYNONYM_PREFIXES,
-            true));
+    /**
+     * Returns the bindings to evaluate compiled templates against a map of properties. The bindings for the last map are reused.
+     */
+    public synchronized TemplateBindings bind(final Map<String, String> properties) {
+        checkNotNull(properties, "properties is null");
 
-        interpolator.addValueSource(new MapBasedValueSource(properties));
+        if (properties != lastProperties) {
+            lastBindings = new TemplateBindings(valueSources, SYNONYM_PREFIXES, properties);
+            lastProperties = properties;
+        }
 
-        final String result = interpolator.interpolate(value, new PrefixAwareRecursionInterceptor(SYNONYM_PREFIXES, true));
+        return lastBindings;
+    }
 
-        Matcher matcher = Pattern.compile(Pattern.quote(PREFIX) + ".*?" + Pattern.quote(POSTFIX)).matcher(result);
+    static String removeLeftovers(final String value, final String result, final IgnoreWarnFail onMissingField) {
+        Matcher matcher = LEFTOVER_PATTERN.matcher(result);
 
         checkIgnoreWarnFailState(!matcher.find(), onMissingField,
             () -> format("template %s evaluated to %s", value, result),
@@ -93,4 +134,11 @@ public final class InterpolatorFactory {
 
         return matcher.replaceAll("");
     }
+
+    private Interpolator createInterpolator() {
+        final Interpolator interpolator = new StringSearchInterpolator(PREFIX, POSTFIX);
+        valueSources.forEach(interpolator::addValueSource);
+
+        return interpolator;
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.propertyhelper;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A template with "late resolution" properties (<code>@{...}</code>), compiled into a list of literal text and references. Templates are parsed
+ * the same way as the interpolator does it: a reference ends at the first closing brace, and an opening <code>@{</code> without a closing brace is
+ * literal text.
+ */
+public final class PropertyTemplate {
+
+    static final String PREFIX = "@{";
+    static final String POSTFIX = "}";
+
+    private final String template;
+    private final List<Segment> segments;
+
+    private PropertyTemplate(String template, List<Segment> segments) {
+        this.template = template;
+        this.segments = segments;
+    }
+
+    public static PropertyTemplate compile(final String template) {
+        checkNotNull(template, "template is null");
+
+        ImmutableList.Builder<Segment> segments = ImmutableList.builder();
+        int position = 0;
+        while (true) {
+            int start = template.indexOf(PREFIX, position);
+            if (start < 0) {
+                break;
+            }
+            int end = template.indexOf(POSTFIX, start + 1);
+            if (end < 0) {
+                break;
+            }
+
+            if (start > position) {
+                segments.add(Segment.literal(template.substring(position, start)));
+            }
+
+            String expression = template.substring(start + PREFIX.length(), end);
+            segments.add(Segment.reference(template.substring(start, end + POSTFIX.length()),
+                expression.startsWith(".") ? expression.substring(1) : expression));
+            position = end + POSTFIX.length();
+        }
+
+        if (position < template.length()) {
+            segments.add(Segment.literal(template.substring(position)));
+        }
+
+        return new PropertyTemplate(template, segments.build());
+    }
+
+    /**
+     * The template as it was compiled.
+     */
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * True if the template contains no references.
+     */
+    public boolean isConstant() {
+        return segments.stream().noneMatch(Segment::isReference);
+    }
+
+    List<Segment> getSegments() {
+        return segments;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    static final class Segment {
+
+        private final String text;
+        private final String expression;
+
+        private Segment(String text, String expression) {
+            this.text = text;
+            this.expression = expression;
+        }
+
+        static Segment literal(String text) {
+            return new Segment(text, null);
+        }
+
+        static Segment reference(String text, String expression) {
+            return new Segment(text, expression);
+        }
+
+        boolean isReference() {
+            return expression != null;
+        }
+
+        /**
+         * The text of the segment. For a reference, this is the reference including its delimiters, it is used if the reference can not be resolved.
+         */
+        String getText() {
+            return text;
+        }
+
+        String getExpression() {
+            return expression;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.propertyhelper;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.basepom.mojo.propertyhelper.PropertyTemplate.PREFIX;
+
+import org.basepom.mojo.propertyhelper.PropertyTemplate.Segment;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.plexus.interpolation.InterpolationCycleException;
+import org.codehaus.plexus.interpolation.PrefixAwareRecursionInterceptor;
+import org.codehaus.plexus.interpolation.RecursionInterceptor;
+import org.codehaus.plexus.interpolation.ValueSource;
+
+/**
+ * Evaluates compiled templates against a map of properties. References are resolved like the interpolator resolves them: from the environment,
+ * the system properties and the model first, then from the properties. A property that contains references itself is evaluated once, after the
+ * properties it references, when it is first used. A cycle between properties fails the evaluation with an {@link InterpolationCycleException},
+ * where references with and without one of the synonym prefixes count as the same expression. Properties that are never used are not evaluated, so
+ * an unused cycle does not fail the build.
+ */
+public final class TemplateBindings {
+
+    private final List<ValueSource> valueSources;
+    private final List<String> synonymPrefixes;
+    private final Map<String, String> properties;
+    private final Map<String, String> boundProperties = new HashMap<>();
+
+    TemplateBindings(final List<ValueSource> valueSources, final List<String> synonymPrefixes, final Map<String, String> properties) {
+        this.valueSources = checkNotNull(valueSources, "valueSources is null");
+        this.synonymPrefixes = checkNotNull(synonymPrefixes, "synonymPrefixes is null");
+        this.properties = checkNotNull(properties, "properties is null");
+    }
+
+    /**
+     * Evaluates a template. Unresolved references are handled according to the onMissingField setting and removed from the result.
+     */
+    public String evaluate(final PropertyTemplate template, final IgnoreWarnFail onMissingField) {
+        checkNotNull(template, "template is null");
+
+        if (template.isConstant()) {
+            return template.getTemplate();
+        }
+
+        String result = render(template, new PrefixAwareRecursionInterceptor(synonymPrefixes, true));
+        return InterpolatorFactory.removeLeftovers(template.getTemplate(), result, onMissingField);
+    }
+
+    private String render(final PropertyTemplate template, final RecursionInterceptor recursionInterceptor) {
+        StringBuilder result = new StringBuilder(template.getTemplate().length());
+        for (Segment segment : template.getSegments()) {
+            String value = segment.isReference() ? resolve(segment.getExpression(), segment.getText(), recursionInterceptor) : null;
+            result.append(value == null ? segment.getText() : value);
+        }
+        return result.toString();
+    }
+
+    private String resolve(final String expression, final String reference, final RecursionInterceptor recursionInterceptor) {
+        if (recursionInterceptor.hasRecursiveExpression(expression)) {
+            throw cycle(recursionInterceptor, expression, reference);
+        }
+        recursionInterceptor.expressionResolutionStarted(expression);
+
+        try {
+            // a value that contains its own reference is skipped, like the interpolator does
+            boolean selfReference = false;
+            for (ValueSource valueSource : valueSources) {
+                Object value = valueSource.getValue(expression);
+                if (value != null) {
+                    String stringValue = String.valueOf(value);
+                    if (!stringValue.contains(reference)) {
+                        return stringValue.contains(PREFIX) ? render(PropertyTemplate.compile(stringValue), recursionInterceptor) : stringValue;
+                    }
+                    selfReference = true;
+                }
+            }
+
+            String value = properties.get(expression);
+            if (value != null) {
+                if (value.contains(reference)) {
+                    throw cycle(recursionInterceptor, expression, reference);
+                }
+                return bindProperty(expression, value, recursionInterceptor);
+            }
+
+            if (selfReference) {
+                throw cycle(recursionInterceptor, expression, reference);
+            }
+            return null;
+        } finally {
+            recursionInterceptor.expressionResolutionFinished(expression);
+        }
+    }
+
+    private static RuntimeException cycle(final RecursionInterceptor recursionInterceptor, final String expression, final String reference) {
+        return Sneaky.throwAnyway(new InterpolationCycleException(recursionInterceptor, expression, reference));
+    }
+
+    private String bindProperty(final String name, final String value, final RecursionInterceptor recursionInterceptor) {
+        String boundValue = boundProperties.get(name);
+        if (boundValue == null) {
+            boundValue = value.contains(PREFIX) ? render(PropertyTemplate.compile(value), recursionInterceptor) : value;
+            boundProperties.put(name, boundValue);
+        }
+        return boundValue;
+    }
+}
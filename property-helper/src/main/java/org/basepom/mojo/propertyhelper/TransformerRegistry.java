@@ -31,6 +31,7 @@ public final class TransformerRegistry {
     public static final TransformerRegistry INSTANCE = new TransformerRegistry();
 
     private final Map<String, Function<String, String>> registry;
+    private final Map<String, CharStage> stages;
 
     private TransformerRegistry() {
         final ImmutableMap.Builder<String, Function<String, String>> registry = ImmutableMap.builder();
@@ -44,31 +45,53 @@ public final class TransformerRegistry {
         registry.put("trim", new TrimTransformer());
 
         this.registry = registry.build();
+
+        // the same transformers, as stages of a single pass over the characters of a value
+        final ImmutableMap.Builder<String, CharStage> stages = ImmutableMap.builder();
+        stages.put("lowercase", CharStage.LOWERCASE);
+        stages.put("uppercase", CharStage.UPPERCASE);
+        stages.put("remove_whitespace", CharStage.remove(CharMatcher.whitespace()));
+        stages.put("underscore_for_whitespace", CharStage.collapse(CharMatcher.whitespace(), '_'));
+        stages.put("dash_for_whitespace", CharStage.collapse(CharMatcher.whitespace(), '-'));
+        stages.put("use_underscore", CharStage.collapse(CharMatcher.whitespace().or(CharMatcher.anyOf("-_")), '_'));
+        stages.put("use_dash", CharStage.collapse(CharMatcher.whitespace().or(CharMatcher.anyOf("-_")), '-'));
+        stages.put("trim", CharStage.trim(CharMatcher.whitespace()));
+
+        this.stages = stages.build();
     }
 
+    /**
+     * Resolves a chain of transformers into a single function. The names are resolved once, and the chain is applied in a single pass over the
+     * characters of a value. A chain with a case transformer falls back to applying the transformers one after another for values with non-ASCII
+     * characters and in locales with special case rules for ASCII letters.
+     */
     public Function<String, String> applyTransformers(List<String> transformerNames) {
-        return value -> applyTransformers(transformerNames, value);
-    }
+        checkNotNull(transformerNames, "transformerNames is null");
 
-    private String applyTransformers(final List<String> transformerNames, final String value) {
-        String res = value;
+        if (transformerNames.isEmpty()) {
+            return Function.identity();
+        }
 
-        var transformers = transformerNames.stream()
+        final List<Function<String, String>> transformers = transformerNames.stream()
             .map(this::forName)
             .collect(ImmutableList.toImmutableList());
 
-        for (var transformer : transformers) {
-            if (res != null) {
-                res = transformer.apply(res);
-            }
+        if (transformers.size() == 1) {
+            final Function<String, String> transformer = transformers.get(0);
+            return value -> value == null ? null : transformer.apply(value);
         }
-        return res;
+
+        final List<CharStage> chain = transformerNames.stream()
+            .map(transformerName -> stages.get(transformerName.toLowerCase(Locale.ROOT)))
+            .collect(ImmutableList.toImmutableList());
+
+        return new FusedTransformer(transformers, chain);
     }
 
     Function<String, String> forName(final String transformerName) {
         checkNotNull(transformerName, "transformerName is null");
 
-        final var transformer = registry.get(transformerName.toLowerCase(Locale.getDefault()));
+        final var transformer = registry.get(transformerName.toLowerCase(Locale.ROOT));
 
         checkState(transformer != null, "Transformer '%s' is unknown.", transformerName);
 
@@ -146,4 +169,157 @@ public final class TransformerRegistry {
             return CharMatcher.whitespace().trimFrom(value);
         }
     }
+
+    /**
+     * A chain of transformers that is applied in a single pass.
+     */
+    private static final class FusedTransformer
+        implements Function<String, String> {
+
+        private final List<Function<String, String>> transformers;
+        private final CharStage[] chain;
+        private final boolean changesCase;
+
+        private FusedTransformer(List<Function<String, String>> transformers, List<CharStage> chain) {
+            this.transformers = transformers;
+            this.chain = chain.toArray(new CharStage[0]);
+            this.changesCase = chain.contains(CharStage.LOWERCASE) || chain.contains(CharStage.UPPERCASE);
+        }
+
+        @Override
+        public String apply(String value) {
+            if (value == null) {
+                return null;
+            }
+
+            if (changesCase && (!CharMatcher.ascii().matchesAllOf(value) || !asciiCaseIsSimple(Locale.getDefault()))) {
+                String res = value;
+                for (var transformer : transformers) {
+                    res = transformer.apply(res);
+                }
+                return res;
+            }
+
+            final Pass pass = new Pass(chain, value.length());
+            for (int i = 0; i < value.length(); i++) {
+                pass.emit(0, value.charAt(i));
+            }
+            return pass.result.toString();
+        }
+    }
+
+    /**
+     * Returns false for the languages in which upper and lower case of ASCII letters are not ASCII letters (dotted and dotless i). Case changes in
+     * these locales are not done in the single pass.
+     */
+    static boolean asciiCaseIsSimple(Locale locale) {
+        String language = locale.getLanguage();
+        return !"tr".equals(language) && !"az".equals(language);
+    }
+
+    /**
+     * The state of a single pass over a value. Every stage of the chain has a flag and a buffer at its own index.
+     */
+    private static final class Pass {
+
+        private final CharStage[] chain;
+        private final boolean[] flags;
+        private final StringBuilder[] buffers;
+        private final StringBuilder result;
+
+        private Pass(CharStage[] chain, int length) {
+            this.chain = chain;
+            this.flags = new boolean[chain.length];
+            this.buffers = new StringBuilder[chain.length];
+            this.result = new StringBuilder(length);
+        }
+
+        private void emit(int index, char c) {
+            if (index == chain.length) {
+                result.append(c);
+            } else {
+                chain[index].accept(this, index, c);
+            }
+        }
+    }
+
+    /**
+     * A transformer as a stage of a single pass over the characters of an ASCII value.
+     */
+    private abstract static class CharStage {
+
+        static final CharStage LOWERCASE = new CharStage() {
+            @Override
+            void accept(Pass pass, int index, char c) {
+                pass.emit(index + 1, c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+            }
+        };
+
+        static final CharStage UPPERCASE = new CharStage() {
+            @Override
+            void accept(Pass pass, int index, char c) {
+                pass.emit(index + 1, c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c);
+            }
+        };
+
+        static CharStage remove(CharMatcher matcher) {
+            return new CharStage() {
+                @Override
+                void accept(Pass pass, int index, char c) {
+                    if (!matcher.matches(c)) {
+                        pass.emit(index + 1, c);
+                    }
+                }
+            };
+        }
+
+        /**
+         * Replaces every run of matching characters with a single replacement character, like {@link CharMatcher#collapseFrom(CharSequence, char)}.
+         * The flag is set while in a run.
+         */
+        static CharStage collapse(CharMatcher matcher, char replacement) {
+            return new CharStage() {
+                @Override
+                void accept(Pass pass, int index, char c) {
+                    if (!matcher.matches(c)) {
+                        pass.flags[index] = false;
+                        pass.emit(index + 1, c);
+                    } else if (!pass.flags[index]) {
+                        pass.flags[index] = true;
+                        pass.emit(index + 1, replacement);
+                    }
+                }
+            };
+        }
+
+        /**
+         * Removes leading and trailing matching characters, like {@link CharMatcher#trimFrom(CharSequence)}. The flag is set after the first
+         * non-matching character; matching characters after it are buffered until the next non-matching character and dropped at the end.
+         */
+        static CharStage trim(CharMatcher matcher) {
+            return new CharStage() {
+                @Override
+                void accept(Pass pass, int index, char c) {
+                    if (!matcher.matches(c)) {
+                        StringBuilder pending = pass.buffers[index];
+                        if (pending != null) {
+                            for (int i = 0; i < pending.length(); i++) {
+                                pass.emit(index + 1, pending.charAt(i));
+                            }
+                            pending.setLength(0);
+                        }
+                        pass.flags[index] = true;
+                        pass.emit(index + 1, c);
+                    } else if (pass.flags[index]) {
+                        if (pass.buffers[index] == null) {
+                            pass.buffers[index] = new StringBuilder();
+                        }
+                        pass.buffers[index].append(c);
+                    }
+                }
+            };
+        }
+
+        abstract void accept(Pass pass, int index, char c);
+    }
 }
@@ -16,23 +16,35 @@ package org.basepom.mojo.propertyhelper.groups;
 
 import org.basepom.mojo.propertyhelper.FieldContext;
 import org.basepom.mojo.propertyhelper.IgnoreWarnFail;
+import org.basepom.mojo.propertyhelper.PropertyTemplate;
+import org.basepom.mojo.propertyhelper.TemplateBindings;
 import org.basepom.mojo.propertyhelper.definitions.PropertyDefinition;
 import org.basepom.mojo.propertyhelper.definitions.PropertyGroupDefinition;
 
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 
 public class PropertyGroup {
 
     private final PropertyGroupDefinition propertyGroupDefinition;
     private final FieldContext context;
+    private final Map<PropertyDefinition, CompiledProperty> compiledProperties;
 
     public PropertyGroup(PropertyGroupDefinition propertyGroupDefinition, FieldContext context) {
         this.propertyGroupDefinition = propertyGroupDefinition;
         this.context = context;
+
+        // the templates and transformers of all properties are resolved once, the properties can then be evaluated for any field values
+        var compiledProperties = ImmutableMap.<PropertyDefinition, CompiledProperty>builder();
+        for (PropertyDefinition propertyDefinition : propertyGroupDefinition.getPropertyDefinitions()) {
+            compiledProperties.put(propertyDefinition, compile(propertyDefinition));
+        }
+        this.compiledProperties = compiledProperties.build();
     }
 
     public String getId() {
@@ -49,17 +61,45 @@ public class PropertyGroup {
     }
 
     public String getPropertyValue(final PropertyDefinition propertyDefinition, final Map<String, String> propElements) {
+        CompiledProperty compiledProperty = compiledProperties.get(propertyDefinition);
+        if (compiledProperty == null) {
+            compiledProperty = compile(propertyDefinition);
+        }
 
-        return Optional.ofNullable(propertyDefinition.getValue())
-            .map(context.getInterpolatorFactory().interpolate(propertyDefinition.getName(), propertyGroupDefinition.getOnMissingField(), propElements))
-            .map(context.getTransformerRegistry().applyTransformers(propertyDefinition.getTransformers()))
-            .orElse("");
+        return compiledProperty.evaluate(context.getInterpolatorFactory().bind(propElements));
     }
 
     public Set<PropertyResult> createProperties(final Map<String, String> values) {
-        return propertyGroupDefinition.getPropertyDefinitions().stream()
-            .map(propertyDefinition -> new PropertyResult(propertyDefinition.getName(),
-                getPropertyValue(propertyDefinition, values)))
+        TemplateBindings bindings = context.getInterpolatorFactory().bind(values);
+
+        return compiledProperties.values().stream()
+            .map(compiledProperty -> new PropertyResult(compiledProperty.name, compiledProperty.evaluate(bindings)))
             .collect(ImmutableSet.toImmutableSet());
     }
+
+    private CompiledProperty compile(PropertyDefinition propertyDefinition) {
+        return new CompiledProperty(propertyDefinition.getName(),
+            propertyDefinition.getValue() == null ? null : PropertyTemplate.compile(propertyDefinition.getValue()),
+            context.getTransformerRegistry().applyTransformers(propertyDefinition.getTransformers()));
+    }
+
+    private final class CompiledProperty {
+
+        private final String name;
+        private final PropertyTemplate template;
+        private final Function<String, String> transformers;
+
+        private CompiledProperty(String name, PropertyTemplate template, Function<String, String> transformers) {
+            this.name = name;
+            this.template = template;
+            this.transformers = transformers;
+        }
+
+        private String evaluate(TemplateBindings bindings) {
+            return Optional.ofNullable(template)
+                .map(t -> bindings.evaluate(t, propertyGroupDefinition.getOnMissingField()))
+                .map(transformers)
+                .orElse("");
+        }
+    }
 }
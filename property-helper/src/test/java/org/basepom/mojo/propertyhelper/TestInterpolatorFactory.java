@@ -0,0 +1,69 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.propertyhelper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.maven.model.Model;
+import org.junit.jupiter.api.Test;
+
+public class TestInterpolatorFactory {
+
+    @Test
+    public void testNoPlaceholder() {
+        final InterpolatorFactory interpolatorFactory = InterpolatorFactory.forTesting();
+
+        assertEquals("hello, world", interpolate(interpolatorFactory, IgnoreWarnFail.FAIL, ImmutableMap.of(), "hello, world"));
+    }
+
+    @Test
+    public void testModelProperties() {
+        final Model model = new Model();
+        model.setArtifactId("world");
+        final InterpolatorFactory interpolatorFactory = new InterpolatorFactory(model);
+
+        assertEquals("hello, world", interpolate(interpolatorFactory, IgnoreWarnFail.FAIL, ImmutableMap.of(), "hello, @{project.artifactId}"));
+
+        // the model properties are not part of the snapshot
+        model.addProperty("greeting", "hi");
+        assertEquals("hi, world", interpolate(interpolatorFactory, IgnoreWarnFail.FAIL, ImmutableMap.of(), "@{greeting}, @{pom.artifactId}"));
+    }
+
+    @Test
+    public void testDifferentProperties() {
+        final InterpolatorFactory interpolatorFactory = InterpolatorFactory.forTesting();
+
+        assertEquals("hello, world", interpolate(interpolatorFactory, IgnoreWarnFail.FAIL, ImmutableMap.of("who", "world"), "hello, @{who}"));
+        assertEquals("hello, pizza", interpolate(interpolatorFactory, IgnoreWarnFail.FAIL, ImmutableMap.of("who", "pizza"), "hello, @{who}"));
+    }
+
+    @Test
+    public void testMissingProperty() {
+        final InterpolatorFactory interpolatorFactory = InterpolatorFactory.forTesting();
+
+        assertEquals("hello, ", interpolate(interpolatorFactory, IgnoreWarnFail.IGNORE, ImmutableMap.of(), "hello, @{who}"));
+        assertThrows(IllegalStateException.class,
+            () -> interpolate(interpolatorFactory, IgnoreWarnFail.FAIL, ImmutableMap.of(), "hello, @{who}"));
+    }
+
+    private static String interpolate(InterpolatorFactory interpolatorFactory, IgnoreWarnFail onMissingField, Map<String, String> properties,
+        String value) {
+        return interpolatorFactory.interpolate("hello", onMissingField, properties).apply(value);
+    }
+}
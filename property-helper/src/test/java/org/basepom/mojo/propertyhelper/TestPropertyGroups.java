@@ -0,0 +1,117 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.propertyhelper;
+
+import static org.basepom.mojo.propertyhelper.definitions.DefinitionHelper.propertyDefinition;
+import static org.basepom.mojo.propertyhelper.definitions.DefinitionHelper.propertyGroupDefinition;
+import static org.basepom.mojo.propertyhelper.definitions.DefinitionHelper.setActiveOnRelease;
+import static org.basepom.mojo.propertyhelper.definitions.DefinitionHelper.setProperties;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.basepom.mojo.propertyhelper.definitions.PropertyGroupDefinition;
+
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+
+public class TestPropertyGroups {
+
+    @Test
+    public void testInactiveGroupIsNotEvaluated() throws Exception {
+        // the default for onMissingField is fail, so evaluating this group throws
+        PropertyGroupDefinition snapshotGroup = propertyGroupDefinition("snapshot-group");
+        setProperties(snapshotGroup, propertyDefinition("snapshot", "@{unknown}"));
+        setActiveOnRelease(snapshotGroup, false);
+
+        PropertyGroupDefinition releaseGroup = propertyGroupDefinition("release-group");
+        setProperties(releaseGroup, propertyDefinition("release", "released"));
+
+        GetMojo mojo = mojo("1.0", snapshotGroup, releaseGroup);
+        mojo.setActiveGroups("snapshot-group", "release-group");
+        mojo.execute();
+
+        assertNull(mojo.project.getProperties().getProperty("snapshot"));
+        assertEquals("released", mojo.project.getProperties().getProperty("release"));
+
+        // the same group fails in a snapshot build
+        GetMojo snapshotMojo = mojo("1.0-SNAPSHOT", snapshotGroup, releaseGroup);
+        snapshotMojo.setActiveGroups("snapshot-group", "release-group");
+        assertThrows(IllegalStateException.class, snapshotMojo::execute);
+    }
+
+    @Test
+    public void testGroupNotActivatedIsNotEvaluated() throws Exception {
+        PropertyGroupDefinition failingGroup = propertyGroupDefinition("failing-group");
+        setProperties(failingGroup, propertyDefinition("failing", "@{unknown}"));
+
+        PropertyGroupDefinition releaseGroup = propertyGroupDefinition("release-group");
+        setProperties(releaseGroup, propertyDefinition("release", "released"));
+
+        GetMojo mojo = mojo("1.0", failingGroup, releaseGroup);
+        mojo.setActiveGroups("release-group");
+        mojo.execute();
+
+        assertNull(mojo.project.getProperties().getProperty("failing"));
+        assertEquals("released", mojo.project.getProperties().getProperty("release"));
+    }
+
+    @Test
+    public void testGroupsAreEvaluatedBeforePropertiesAreSet() throws Exception {
+        PropertyGroupDefinition firstGroup = propertyGroupDefinition("first-group");
+        setProperties(firstGroup, propertyDefinition("shared", "new"));
+
+        // the template sees the project properties, but not the properties of the first group
+        PropertyGroupDefinition secondGroup = propertyGroupDefinition("second-group");
+        setProperties(secondGroup, propertyDefinition("copy", "copy-of-@{shared}"));
+
+        GetMojo mojo = mojo("1.0", firstGroup, secondGroup);
+        mojo.project.getProperties().setProperty("shared", "old");
+        mojo.setActiveGroups("first-group", "second-group");
+        mojo.execute();
+
+        assertEquals("new", mojo.project.getProperties().getProperty("shared"));
+        assertEquals("copy-of-old", mojo.project.getProperties().getProperty("copy"));
+    }
+
+    @Test
+    public void testUnknownActiveGroup() {
+        PropertyGroupDefinition releaseGroup = propertyGroupDefinition("release-group");
+        setProperties(releaseGroup, propertyDefinition("release", "released"));
+
+        GetMojo mojo = mojo("1.0", releaseGroup);
+        mojo.setActiveGroups("release-group", "unknown-group");
+        assertThrows(IllegalStateException.class, mojo::execute);
+    }
+
+    private static GetMojo mojo(String version, PropertyGroupDefinition... propertyGroups) {
+        Model model = new Model();
+        model.setGroupId("g");
+        model.setArtifactId("project");
+        model.setVersion(version);
+
+        MavenProject project = new MavenProject(model);
+        project.setArtifact(new DefaultArtifact("g", "project", version, null, "jar", null, new DefaultArtifactHandler("jar")));
+
+        GetMojo mojo = new GetMojo();
+        mojo.project = project;
+        mojo.outputTimestamp = "2026-01-01T00:00:00Z";
+        mojo.setPropertyGroups(propertyGroups);
+        return mojo;
+    }
+}
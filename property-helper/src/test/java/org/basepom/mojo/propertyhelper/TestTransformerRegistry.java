@@ -15,7 +15,13 @@
 package org.basepom.mojo.propertyhelper;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
@@ -77,4 +83,66 @@ public class TestTransformerRegistry {
 
         assertEquals("Hello, World!", transformer.apply(" Hello, World! "));
     }
+
+    @Test
+    public void testChain() {
+        final Function<String, String> transformer = TransformerRegistry.INSTANCE.applyTransformers(List.of("trim", "lowercase", "use_dash"));
+
+        assertEquals("hello-world-foo-bar", transformer.apply("  Hello World_foo-- Bar \t"));
+    }
+
+    @Test
+    public void testEmptyChain() {
+        final Function<String, String> transformer = TransformerRegistry.INSTANCE.applyTransformers(List.of());
+
+        assertEquals(" Hello, World! ", transformer.apply(" Hello, World! "));
+    }
+
+    @Test
+    public void testChainMatchesSequential() {
+        final List<String> names = List.of("lowercase", "uppercase", "remove_whitespace", "underscore_for_whitespace", "dash_for_whitespace",
+            "use_underscore", "use_dash", "trim");
+        final String characters = "aB _-\t\n\u00a0\u00e4\u00df!";
+        final Random random = new Random(1234);
+
+        for (int i = 0; i < 10_000; i++) {
+            final List<String> chain = new ArrayList<>();
+            for (int j = random.nextInt(5); j >= 0; j--) {
+                chain.add(names.get(random.nextInt(names.size())));
+            }
+
+            final StringBuilder value = new StringBuilder();
+            for (int j = random.nextInt(12); j > 0; j--) {
+                value.append(characters.charAt(random.nextInt(characters.length())));
+            }
+
+            assertEquals(applySequential(chain, value.toString()), TransformerRegistry.INSTANCE.applyTransformers(chain).apply(value.toString()),
+                () -> chain + " applied to '" + value + "'");
+        }
+    }
+
+    @Test
+    public void testAsciiCaseIsSimple() {
+        assertTrue(TransformerRegistry.asciiCaseIsSimple(Locale.ROOT));
+        assertTrue(TransformerRegistry.asciiCaseIsSimple(Locale.ENGLISH));
+        assertTrue(TransformerRegistry.asciiCaseIsSimple(Locale.GERMANY));
+        assertFalse(TransformerRegistry.asciiCaseIsSimple(Locale.forLanguageTag("tr")));
+        assertFalse(TransformerRegistry.asciiCaseIsSimple(Locale.forLanguageTag("tr-TR")));
+        assertFalse(TransformerRegistry.asciiCaseIsSimple(Locale.forLanguageTag("az-Latn-AZ")));
+    }
+
+    @Test
+    public void testChainNamesIgnoreCase() {
+        final List<String> chain = List.of("trim", "UPPERCASE", "use_underscore");
+
+        assertEquals("THIS_IS_IT", TransformerRegistry.INSTANCE.applyTransformers(chain).apply(" this is-it "));
+    }
+
+    private static String applySequential(List<String> chain, String value) {
+        String result = value;
+        for (String name : chain) {
+            result = TransformerRegistry.INSTANCE.forName(name).apply(result);
+        }
+        return result;
+    }
 }
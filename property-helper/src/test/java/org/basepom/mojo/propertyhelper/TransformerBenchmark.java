@@ -0,0 +1,93 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.basepom.mojo.propertyhelper;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Nanoseconds per value for a transformer chain: <code>sequential</code> looks up every transformer for each value and applies them one by one, as
+ * before, <code>fused</code> applies the chain from {@link TransformerRegistry#applyTransformers(List)}, resolved once. Arguments of
+ * {@link #main(String...)} are JMH options, add <code>-prof gc</code> to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 500, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+public class TransformerBenchmark {
+
+    @Param({"lowercase", "trim,lowercase,use_dash", "trim,remove_whitespace,uppercase,use_underscore"})
+    public String chain;
+
+    @Param({"Hello World", "  a-Much_Longer value with  several   Words, Dashes-and_Underscores\t"})
+    public String value;
+
+    private List<String> transformerNames;
+    private Function<String, String> fused;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        transformerNames = Arrays.asList(chain.split(","));
+        fused = TransformerRegistry.INSTANCE.applyTransformers(transformerNames);
+    }
+
+    @Benchmark
+    public void sequential(Blackhole blackhole) {
+        String result = value;
+        var transformers = transformerNames.stream()
+            .map(TransformerRegistry.INSTANCE::forName)
+            .collect(ImmutableList.toImmutableList());
+
+        for (var transformer : transformers) {
+            if (result != null) {
+                result = transformer.apply(result);
+            }
+        }
+        blackhole.consume(result);
+    }
+
+    @Benchmark
+    public void fused(Blackhole blackhole) {
+        blackhole.consume(fused.apply(value));
+    }
+
+    public static void main(String... args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder().parent(new CommandLineOptions(args)).include(TransformerBenchmark.class.getName()).build()).run();
+    }
+}
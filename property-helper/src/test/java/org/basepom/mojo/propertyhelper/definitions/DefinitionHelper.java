@@ -107,4 +107,8 @@ public final class DefinitionHelper {
     public static void setOnMissingField(PropertyGroupDefinition propertyGroupDefinition, String value) {
         propertyGroupDefinition.setOnMissingField(value);
     }
+
+    public static void setActiveOnRelease(PropertyGroupDefinition propertyGroupDefinition, boolean activeOnRelease) {
+        propertyGroupDefinition.activeOnRelease = activeOnRelease;
+    }
 }
@@ -17,22 +17,49 @@ package org.basepom.mojo.propertyhelper.groups;
 import static org.basepom.mojo.propertyhelper.definitions.DefinitionHelper.propertyDefinition;
 import static org.basepom.mojo.propertyhelper.definitions.DefinitionHelper.propertyGroupDefinition;
 import static org.basepom.mojo.propertyhelper.definitions.DefinitionHelper.setProperties;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.basepom.mojo.propertyhelper.FieldContext;
+import org.basepom.mojo.propertyhelper.IgnoreWarnFail;
+import org.basepom.mojo.propertyhelper.InterpolatorFactory;
 import org.basepom.mojo.propertyhelper.definitions.DefinitionHelper;
 import org.basepom.mojo.propertyhelper.definitions.PropertyDefinition;
 import org.basepom.mojo.propertyhelper.definitions.PropertyGroupDefinition;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import org.apache.maven.model.Model;
+import org.codehaus.plexus.interpolation.EnvarBasedValueSource;
+import org.codehaus.plexus.interpolation.InterpolationCycleException;
+import org.codehaus.plexus.interpolation.Interpolator;
+import org.codehaus.plexus.interpolation.MapBasedValueSource;
+import org.codehaus.plexus.interpolation.ObjectBasedValueSource;
+import org.codehaus.plexus.interpolation.PrefixAwareRecursionInterceptor;
+import org.codehaus.plexus.interpolation.PrefixedValueSourceWrapper;
+import org.codehaus.plexus.interpolation.PropertiesBasedValueSource;
+import org.codehaus.plexus.interpolation.StringSearchInterpolator;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 public class TestPropertyGroup {
+
+    private static final List<String> SYNONYM_PREFIXES = ImmutableList.of("project", "pom");
+    private static final Pattern LEFTOVER_PATTERN = Pattern.compile("@\\{.*?\\}");
+
+    // fragments for the templates and property values of the randomized comparison
+    private static final String[] FRAGMENTS = {"a", "b", "@{", "}", ".", "n0", "n1", "n2", "@{n0}", "@{n1}", "@{n2}", "@{project.artifactId}",
+        "@{pa}", "@{project.pa}", "@{.n1}", "@{java.version}", "-"};
+
     @Test
     public void testConstant() {
         final PropertyGroupDefinition propertyGroupDefinition = propertyGroupDefinition("hello-group");
@@ -153,4 +180,99 @@ public class TestPropertyGroup {
         Assertions.assertEquals("nice-strange-hat", propertyValue);
     }
 
+    @Test
+    public void testRenderCycleFails() {
+        final PropertyGroupDefinition propertyGroupDefinition = propertyGroupDefinition("hello-group");
+        final PropertyDefinition propertyDefinition = propertyDefinition("hello", "nice-@{first}-hat");
+        setProperties(propertyGroupDefinition, propertyDefinition);
+
+        PropertyGroup propertyGroup = propertyGroupDefinition.createGroup(FieldContext.forTesting());
+
+        assertThrows(InterpolationCycleException.class,
+            () -> propertyGroup.getPropertyValue(propertyDefinition, ImmutableMap.of("first", "@{second}", "second", "@{first}")));
+    }
+
+    @Test
+    public void testRenderUnterminated() {
+        final PropertyGroupDefinition propertyGroupDefinition = propertyGroupDefinition("hello-group");
+        final PropertyDefinition propertyDefinition = propertyDefinition("hello", "nice-@{world}-@{hat");
+        setProperties(propertyGroupDefinition, propertyDefinition);
+
+        PropertyGroup propertyGroup = propertyGroupDefinition.createGroup(FieldContext.forTesting());
+
+        final String propertyValue = propertyGroup.getPropertyValue(propertyDefinition, ImmutableMap.of("world", "rome"));
+        Assertions.assertEquals("nice-rome-@{hat", propertyValue);
+    }
+
+    @Test
+    public void testCreateProperties() {
+        final PropertyGroupDefinition propertyGroupDefinition = propertyGroupDefinition("hello-group");
+        setProperties(propertyGroupDefinition, propertyDefinition("hello", "@{first}-@{world}"), propertyDefinition("goodbye", "@{world}"));
+
+        PropertyGroup propertyGroup = propertyGroupDefinition.createGroup(FieldContext.forTesting());
+
+        final Map<String, String> values = propertyGroup.createProperties(ImmutableMap.of("first", "decadent", "world", "@{city}", "city", "rome"))
+            .stream().collect(Collectors.toMap(PropertyResult::getPropertyName, PropertyResult::getPropertyValue));
+        Assertions.assertEquals(ImmutableMap.of("hello", "decadent-rome", "goodbye", "rome"), values);
+    }
+
+    /**
+     * Evaluates random templates against random property maps and compares the results with the StringSearchInterpolator that evaluated the
+     * property groups before the templates were compiled. Failures are compared by exception type.
+     */
+    @Test
+    public void testSameResultAsInterpolator() {
+        Random random = new Random(42);
+        Model model = new Model();
+        model.setArtifactId("art");
+        model.addProperty("pa", "P@{n2}");
+
+        for (int i = 0; i < 20_000; i++) {
+            Map<String, String> properties = new HashMap<>();
+            for (int j = 0; j < 3; j++) {
+                if (random.nextInt(3) > 0) {
+                    properties.put("n" + j, randomTemplate(random, 3));
+                }
+            }
+            // an empty map does not use the compiled templates
+            Map<String, String> values = properties.isEmpty() ? ImmutableMap.of("unused", "unused") : ImmutableMap.copyOf(properties);
+            String template = randomTemplate(random, 6);
+
+            String expected;
+            try {
+                expected = interpolate(model, values, template);
+            } catch (Exception e) {
+                expected = e.getClass().getName();
+            }
+
+            String result;
+            try {
+                result = new InterpolatorFactory(model).interpolate("test", IgnoreWarnFail.IGNORE, values).apply(template);
+            } catch (Exception e) {
+                result = e.getClass().getName();
+            }
+
+            assertEquals(expected, result, template + " " + values);
+        }
+    }
+
+    private static String randomTemplate(Random random, int maxFragments) {
+        StringBuilder template = new StringBuilder();
+        for (int i = random.nextInt(maxFragments + 1); i > 0; i--) {
+            template.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+        }
+        return template.toString();
+    }
+
+    private static String interpolate(Model model, Map<String, String> values, String template) throws Exception {
+        Interpolator interpolator = new StringSearchInterpolator("@{", "}");
+        interpolator.addValueSource(new EnvarBasedValueSource());
+        interpolator.addValueSource(new PropertiesBasedValueSource(System.getProperties()));
+        interpolator.addValueSource(new PrefixedValueSourceWrapper(new ObjectBasedValueSource(model), SYNONYM_PREFIXES, true));
+        interpolator.addValueSource(new PrefixedValueSourceWrapper(new PropertiesBasedValueSource(model.getProperties()), SYNONYM_PREFIXES, true));
+        interpolator.addValueSource(new MapBasedValueSource(values));
+
+        String result = interpolator.interpolate(template, new PrefixAwareRecursionInterceptor(SYNONYM_PREFIXES, true));
+        return LEFTOVER_PATTERN.matcher(result).replaceAll("");
+    }
 }